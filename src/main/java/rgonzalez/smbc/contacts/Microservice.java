@@ -2,8 +2,10 @@ package rgonzalez.smbc.contacts;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class Microservice {
 
 	public static void main(String[] args) {
@@ -0,0 +1,50 @@
+package rgonzalez.smbc.contacts.api;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import rgonzalez.smbc.contacts.model.dto.DeadLetterReplayResult;
+
+@Tag(name = "Administration", description = "Operational APIs for the contacts service")
+public interface AdminApi {
+
+        @PostMapping("/ssn-verification/dlt/replay")
+        @Operation(summary = "Replay dead-lettered SSN verification results", description = "Republishes records of the customer-ssn-verified dead-letter topic to customer-ssn-verified, oldest first. Records keep their key and original topic, partition and offset headers, so results already applied are skipped. Requires the ADMIN role")
+        @Parameter(name = "Authorization", description = "JWT Bearer token for authentication", in = ParameterIn.HEADER, required = true, example = "Bearer {token}")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Records replayed", content = @Content(mediaType = "application/json", schema = @Schema(implementation = DeadLetterReplayResult.class))),
+                        @ApiResponse(responseCode = "400", description = "Invalid max"),
+                        @ApiResponse(responseCode = "403", description = "Caller lacks the ADMIN role"),
+                        @ApiResponse(responseCode = "500", description = "Internal server error")
+        })
+        ResponseEntity<DeadLetterReplayResult> replaySsnVerificationDeadLetters(
+                        @Parameter(description = "Maximum number of records to replay") @RequestParam(required = false) Integer max);
+
+        @DeleteMapping("/authorities/cache/{userId}")
+        @Operation(summary = "Invalidate the cached authorities of a user", description = "Discards the cached authorities of the user and the cached bearer token authentications, so the authorities are loaded again on the next request. Requires the ADMIN role")
+        @Parameter(name = "Authorization", description = "JWT Bearer token for authentication", in = ParameterIn.HEADER, required = true, example = "Bearer {token}")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "204", description = "Authorities invalidated"),
+                        @ApiResponse(responseCode = "403", description = "Caller lacks the ADMIN role"),
+                        @ApiResponse(responseCode = "500", description = "Internal server error")
+        })
+        ResponseEntity<Void> invalidateUserAuthorities(
+                        @Parameter(description = "User identifier") @PathVariable String userId);
+
+        @DeleteMapping("/authorities/cache")
+        @Operation(summary = "Invalidate all cached authorities", description = "Discards all cached user authorities and cached bearer token authentications. Requires the ADMIN role")
+        @Parameter(name = "Authorization", description = "JWT Bearer token for authentication", in = ParameterIn.HEADER, required = true, example = "Bearer {token}")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "204", description = "Authorities invalidated"),
+                        @ApiResponse(responseCode = "403", description = "Caller lacks the ADMIN role"),
+                        @ApiResponse(responseCode = "500", description = "Internal server error")
+        })
+        ResponseEntity<Void> invalidateAllAuthorities();
+}
@@ -0,0 +1,46 @@
+package rgonzalez.smbc.contacts.api;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import rgonzalez.smbc.contacts.model.dto.BusinessEventPage;
+import rgonzalez.smbc.contacts.model.dto.BusinessEventPayload;
+
+import java.time.LocalDateTime;
+
+@Tag(name = "Contact Event History", description = "APIs for reading the audit trail of contacts")
+public interface BusinessEventApi {
+
+        @GetMapping("/{id}/events")
+        @Operation(summary = "Get contact event history", description = "Retrieves the business events of a contact, newest first, without payloads. Use nextCursor as the cursor of the next request to get the following page")
+        @Parameter(name = "Authorization", description = "JWT Bearer token for authentication", in = ParameterIn.HEADER, required = true, example = "Bearer {token}")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Events retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BusinessEventPage.class))),
+                        @ApiResponse(responseCode = "400", description = "Invalid filter or limit"),
+                        @ApiResponse(responseCode = "500", description = "Internal server error")
+        })
+        ResponseEntity<BusinessEventPage> getContactEvents(@PathVariable Long id,
+                        @Parameter(description = "Only events with this name, e.g. ContactUpdated") @RequestParam(required = false) String eventName,
+                        @Parameter(description = "Only events created at or after this ISO date-time") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                        @Parameter(description = "Only events created before this ISO date-time") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                        @Parameter(description = "nextCursor of the previous page") @RequestParam(required = false) String cursor,
+                        @Parameter(description = "Maximum number of events to return") @RequestParam(required = false) Integer limit);
+
+        @GetMapping("/{id}/events/{eventId}/payload")
+        @Operation(summary = "Get event payload", description = "Retrieves the payload of one business event of a contact")
+        @Parameter(name = "Authorization", description = "JWT Bearer token for authentication", in = ParameterIn.HEADER, required = true, example = "Bearer {token}")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Payload found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BusinessEventPayload.class))),
+                        @ApiResponse(responseCode = "404", description = "Event not found"),
+                        @ApiResponse(responseCode = "500", description = "Internal server error")
+        })
+        ResponseEntity<BusinessEventPayload> getContactEventPayload(@PathVariable Long id, @PathVariable String eventId);
+}
@@ -1,6 +1,9 @@
 package rgonzalez.smbc.contacts.api;
 
+import java.util.List;
+
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -23,4 +26,13 @@ public interface TokenApi {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     ResponseEntity<TokenResponse> generateToken(@RequestBody TokenRequest request);
+
+    @PostMapping("/batch")
+    @Operation(summary = "Generate JWT tokens in batch", description = "Generates one JWT token per request item, in request order, for load tests and batch jobs. At most contacts.security.token-batch.max-size items per request")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tokens generated successfully", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = TokenResponse.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid request - empty, too large, or an item without networkId"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    ResponseEntity<List<TokenResponse>> generateTokens(@RequestBody List<TokenRequest> requests);
 }
@@ -1,5 +1,6 @@
 package rgonzalez.smbc.contacts.audit;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -8,14 +9,15 @@ import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
 import rgonzalez.smbc.contacts.dao.BusinessEventRepository;
+import rgonzalez.smbc.contacts.events.outbound.BusinessEventPublisher;
+import rgonzalez.smbc.contacts.jfr.BusinessActivityEvent;
+import rgonzalez.smbc.contacts.logging.LogArgumentRenderer;
 import rgonzalez.smbc.contacts.model.BusinessEvent;
 import rgonzalez.smbc.contacts.model.system.BusinessActivity;
 
-import java.util.Arrays;
 import java.util.UUID;
 
 @Aspect
@@ -24,13 +26,19 @@ public class BusinessActivityRecorder {
 
     private static final Logger logger = LoggerFactory.getLogger(BusinessActivityRecorder.class);
     private final BusinessEventRepository businessEventRepository;
-    private final KafkaTemplate<String, BusinessEvent> businessEventKafkaTemplate;
+    private final BusinessEventPublisher businessEventPublisher;
+    private final EventPayloadEncoder eventPayloadEncoder;
+    private final LogArgumentRenderer argumentRenderer;
     private final ObjectMapper objectMapper;
 
     public BusinessActivityRecorder(BusinessEventRepository businessEventRepository,
-            KafkaTemplate<String, BusinessEvent> businessEventKafkaTemplate) {
+            BusinessEventPublisher businessEventPublisher,
+            EventPayloadEncoder eventPayloadEncoder,
+            LogArgumentRenderer argumentRenderer) {
         this.businessEventRepository = businessEventRepository;
-        this.businessEventKafkaTemplate = businessEventKafkaTemplate;
+        this.businessEventPublisher = businessEventPublisher;
+        this.eventPayloadEncoder = eventPayloadEncoder;
+        this.argumentRenderer = argumentRenderer;
         this.objectMapper = new ObjectMapper();
         this.objectMapper.registerModule(new JavaTimeModule());
     }
@@ -56,25 +64,45 @@ public class BusinessActivityRecorder {
             throws Throwable {
         String className = joinPoint.getTarget().getClass().getSimpleName();
         String methodName = joinPoint.getSignature().getName();
-        Object[] args = joinPoint.getArgs();
 
+        // Free unless a JFR recording enables the event
+        BusinessActivityEvent event = new BusinessActivityEvent();
+        event.begin();
+        EventPayloadEncoder.EncodedPayload eventPayload = null;
+        boolean succeeded = false;
         try {
+            // Arguments (e.g. contacts with their SSN) are redacted, and rendered only if logged
             logger.info("Recording Business Activity - Class: {}, Method: {}, Parameters: {}",
-                    className, methodName, Arrays.toString(args));
+                    className, methodName, argumentRenderer.render(joinPoint.getArgs()));
 
             Object result = joinPoint.proceed();
 
             if (businessActivity.isAuditable()) {
                 // Create and persist the business event
-                createAndPublishBusinessEvent(result, businessActivity);
+                eventPayload = createAndPublishBusinessEvent(result, businessActivity);
             }
 
+            succeeded = true;
             return result;
         } catch (Throwable throwable) {
 
             logger.error("Business Activity Failed - Class: {}, Method: {}, Error: {}",
                     className, methodName, throwable.getMessage(), throwable);
             throw throwable;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.activityName = businessActivity.activityName();
+                event.className = className;
+                event.methodName = methodName;
+                event.eventName = businessActivity.eventName();
+                if (eventPayload != null) {
+                    event.payloadFormat = eventPayload.format().name();
+                    event.payloadBytes = BusinessActivityEvent.utf8Length(eventPayload.payload());
+                }
+                event.succeeded = succeeded;
+                event.commit();
+            }
         }
     }
 
@@ -84,39 +112,59 @@ public class BusinessActivityRecorder {
      * 
      * @param result           the result object from the business activity method
      * @param businessActivity the BusinessActivity annotation with event details
+     * @return the payload of the business event, or null if it could not be
+     *         recorded
      */
-    private void createAndPublishBusinessEvent(Object result, BusinessActivity businessActivity) {
+    private EventPayloadEncoder.EncodedPayload createAndPublishBusinessEvent(Object result, BusinessActivity businessActivity) {
+        String aggregateName = null;
+        String aggregateId = null;
         try {
-            String eventPayload = objectMapper.writeValueAsString(result);
-
             // Extract aggregate ID from result if it has an id field, otherwise use a
             // default
-            String aggregateId = extractAggregateId(result);
-            String aggregateName = result.getClass().getSimpleName();
+            aggregateId = extractAggregateId(result);
+            aggregateName = result.getClass().getSimpleName();
             String eventName = businessActivity.eventName();
             String schema = generateSchema(aggregateName, eventName);
+            String eventId = UUID.randomUUID().toString();
+
+            // Full document or JSON Patch against the previous version, per activity
+            JsonNode document = objectMapper.valueToTree(result);
+            EventPayloadEncoder.EncodedPayload eventPayload = eventPayloadEncoder.encode(objectMapper,
+                    aggregateName, aggregateId, eventId, document, businessActivity.payloadMode());
 
             BusinessEvent businessEvent = new BusinessEvent(
-                    UUID.randomUUID().toString(),
+                    eventId,
                     aggregateId,
                     aggregateName,
                     eventName,
-                    eventPayload,
+                    eventPayload.payload(),
                     schema,
                     null,
                     BusinessEvent.EventDirection.OUTBOUND);
+            businessEvent.setPayloadFormat(eventPayload.format());
+            businessEvent.setBaseEventId(eventPayload.baseEventId());
 
             // Persist the event to database
             businessEventRepository.save(businessEvent);
+            // Later patches may refer to this event once it is committed
+            eventPayloadEncoder.recordStored(aggregateName, aggregateId, eventId, document, eventPayload);
 
-            // Send the event to Kafka with aggregate id as the message key
-            businessEventKafkaTemplate.send("contacts", businessEvent.getAggregateId(), businessEvent);
+            // Send the event to Kafka with aggregate id as the message key; delivery is
+            // tracked by the publisher
+            businessEventPublisher.publish("contacts", businessEvent.getAggregateId(), businessEvent);
 
-            logger.info("Business Event published - Event: {}, Aggregate: {}, Schema: {}",
-                    eventName, aggregateName, schema);
+            logger.info("Business Event published - Event: {}, Aggregate: {}, Schema: {}, Payload: {}",
+                    eventName, aggregateName, schema, eventPayload.format());
+            return eventPayload;
         } catch (Exception e) {
             logger.error("Failed to create and publish business event", e);
+            // The next event of the aggregate must not be a patch against an event that may
+            // not have been stored
+            if (aggregateName != null) {
+                eventPayloadEncoder.evict(aggregateName, aggregateId);
+            }
             // Don't throw exception to avoid affecting the main business logic
+            return null;
         }
     }
 
@@ -0,0 +1,172 @@
+package rgonzalez.smbc.contacts.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import rgonzalez.smbc.contacts.model.BusinessEvent;
+import rgonzalez.smbc.contacts.model.system.EventPayloadMode;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Encodes business event payloads either as the full aggregate document or as
+ * an RFC 6902 JSON Patch against the previous version of the same aggregate.
+ *
+ * The previous version of each aggregate is kept in a bounded LRU cache. A full
+ * snapshot is emitted instead of a patch when:
+ * - delta encoding is disabled or the activity asks for FULL payloads
+ * - the previous version is not cached (first event, evicted, restart)
+ * - the configured number of patches since the last snapshot is reached
+ * - the patch would not be smaller than the full document
+ *
+ * A version only becomes the base of later patches once its event is stored
+ * and the transaction commits ({@link #recordStored}); a version whose event
+ * could not be stored is evicted ({@link #evict}), so no patch ever refers to
+ * an event missing from the history.
+ */
+@Component
+public class EventPayloadEncoder {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventPayloadEncoder.class);
+
+    private final boolean deltaEnabled;
+    private final int snapshotInterval;
+    private final Map<String, AggregateVersion> lastVersions;
+
+    public EventPayloadEncoder(
+            @Value("${contacts.events.delta.enabled:false}") boolean deltaEnabled,
+            @Value("${contacts.events.delta.snapshot-interval:10}") int snapshotInterval,
+            @Value("${contacts.events.delta.cache-size:10000}") int cacheSize) {
+        this.deltaEnabled = deltaEnabled;
+        this.snapshotInterval = Math.max(1, snapshotInterval);
+        this.lastVersions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, AggregateVersion> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Encodes the payload of an event. The document becomes the base of later
+     * patches only once {@link #recordStored} is called for it.
+     *
+     * @param objectMapper  the mapper used to render the payload
+     * @param aggregateName the aggregate type
+     * @param aggregateId   the aggregate identifier
+     * @param eventId       the id of the event being recorded
+     * @param document      the full document of the aggregate after the activity
+     * @param mode          the payload mode requested by the activity
+     * @return the encoded payload
+     * @throws JsonProcessingException if the payload cannot be rendered
+     */
+    public EncodedPayload encode(ObjectMapper objectMapper, String aggregateName, String aggregateId,
+            String eventId, JsonNode document, EventPayloadMode mode) throws JsonProcessingException {
+        String key = aggregateName + ":" + aggregateId;
+        String fullPayload = objectMapper.writeValueAsString(document);
+
+        AggregateVersion previous;
+        synchronized (lastVersions) {
+            previous = lastVersions.get(key);
+        }
+
+        EncodedPayload encoded = null;
+        if (deltaEnabled && mode == EventPayloadMode.DELTA && previous != null
+                && previous.patchesSinceSnapshot() + 1 < snapshotInterval) {
+            ArrayNode patch = JsonPatchGenerator.diff(previous.document(), document);
+            String patchPayload = objectMapper.writeValueAsString(patch);
+            if (patchPayload.length() < fullPayload.length()) {
+                encoded = new EncodedPayload(patchPayload, BusinessEvent.PayloadFormat.JSON_PATCH,
+                        previous.eventId(), previous.patchesSinceSnapshot() + 1);
+            }
+        }
+
+        if (encoded == null) {
+            encoded = new EncodedPayload(fullPayload, BusinessEvent.PayloadFormat.FULL, null);
+        }
+
+        logger.debug("Encoded payload for {} as {} ({} bytes, full document {} bytes)",
+                key, encoded.format(), encoded.payload().length(), fullPayload.length());
+        return encoded;
+    }
+
+    /**
+     * Remembers the document of a stored event as the latest version of its
+     * aggregate, after the current transaction commits (immediately when no
+     * transaction is active). On rollback the aggregate is evicted instead.
+     *
+     * @param aggregateName the aggregate type
+     * @param aggregateId   the aggregate identifier
+     * @param eventId       the id of the stored event
+     * @param document      the full document the event was encoded from
+     * @param payload       the payload the event was stored with
+     */
+    public void recordStored(String aggregateName, String aggregateId, String eventId, JsonNode document,
+            EncodedPayload payload) {
+        String key = aggregateName + ":" + aggregateId;
+        AggregateVersion version = new AggregateVersion(eventId, document, payload.patchesSinceSnapshot());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        remember(key, version);
+                    } else {
+                        evict(aggregateName, aggregateId);
+                    }
+                }
+            });
+        } else {
+            remember(key, version);
+        }
+    }
+
+    /**
+     * Forgets the latest version of an aggregate, so its next event is a full
+     * snapshot
+     *
+     * @param aggregateName the aggregate type
+     * @param aggregateId   the aggregate identifier
+     */
+    public void evict(String aggregateName, String aggregateId) {
+        synchronized (lastVersions) {
+            lastVersions.remove(aggregateName + ":" + aggregateId);
+        }
+    }
+
+    private void remember(String key, AggregateVersion version) {
+        synchronized (lastVersions) {
+            lastVersions.put(key, version);
+        }
+    }
+
+    /**
+     * Encoded event payload
+     *
+     * @param payload              the payload text (full document or JSON Patch)
+     * @param format               the payload format
+     * @param baseEventId          for patches, the event id of the version the
+     *                             patch applies to
+     * @param patchesSinceSnapshot the number of patches since the last full
+     *                             snapshot, this one included (0 for a snapshot)
+     */
+    public record EncodedPayload(String payload, BusinessEvent.PayloadFormat format, String baseEventId,
+            int patchesSinceSnapshot) {
+
+        EncodedPayload(String payload, BusinessEvent.PayloadFormat format, String baseEventId) {
+            this(payload, format, baseEventId, 0);
+        }
+    }
+
+    private record AggregateVersion(String eventId, JsonNode document, int patchesSinceSnapshot) {
+    }
+}
@@ -0,0 +1,99 @@
+package rgonzalez.smbc.contacts.audit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Map;
+
+/**
+ * Generates RFC 6902 JSON Patch documents describing how to turn one JSON
+ * document into another.
+ *
+ * Only "add", "remove" and "replace" operations are produced. Arrays are
+ * compared position by position: common positions are diffed recursively,
+ * extra target elements are appended and surplus source elements are removed
+ * from the end so indexes stay valid while the patch is applied in order.
+ */
+public final class JsonPatchGenerator {
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private JsonPatchGenerator() {
+    }
+
+    /**
+     * Computes the patch that transforms {@code source} into {@code target}
+     *
+     * @param source the previous version of the document
+     * @param target the new version of the document
+     * @return the patch operations, empty if both documents are equal
+     */
+    public static ArrayNode diff(JsonNode source, JsonNode target) {
+        ArrayNode patch = NODES.arrayNode();
+        diff(patch, "", source, target);
+        return patch;
+    }
+
+    private static void diff(ArrayNode patch, String path, JsonNode source, JsonNode target) {
+        if (source.equals(target)) {
+            return;
+        }
+        if (source.isObject() && target.isObject()) {
+            diffObjects(patch, path, (ObjectNode) source, (ObjectNode) target);
+        } else if (source.isArray() && target.isArray()) {
+            diffArrays(patch, path, (ArrayNode) source, (ArrayNode) target);
+        } else {
+            patch.add(operation("replace", path).set("value", target));
+        }
+    }
+
+    private static void diffObjects(ArrayNode patch, String path, ObjectNode source, ObjectNode target) {
+        for (Map.Entry<String, JsonNode> field : source.properties()) {
+            String fieldPath = path + "/" + escape(field.getKey());
+            JsonNode targetValue = target.get(field.getKey());
+            if (targetValue == null) {
+                patch.add(operation("remove", fieldPath));
+            } else {
+                diff(patch, fieldPath, field.getValue(), targetValue);
+            }
+        }
+
+        for (Map.Entry<String, JsonNode> field : target.properties()) {
+            if (!source.has(field.getKey())) {
+                patch.add(operation("add", path + "/" + escape(field.getKey())).set("value", field.getValue()));
+            }
+        }
+    }
+
+    private static void diffArrays(ArrayNode patch, String path, ArrayNode source, ArrayNode target) {
+        int common = Math.min(source.size(), target.size());
+        for (int i = 0; i < common; i++) {
+            diff(patch, path + "/" + i, source.get(i), target.get(i));
+        }
+        for (int i = common; i < target.size(); i++) {
+            patch.add(operation("add", path + "/-").set("value", target.get(i)));
+        }
+        for (int i = source.size() - 1; i >= common; i--) {
+            patch.add(operation("remove", path + "/" + i));
+        }
+    }
+
+    private static ObjectNode operation(String op, String path) {
+        ObjectNode operation = NODES.objectNode();
+        operation.put("op", op);
+        operation.put("path", path);
+        return operation;
+    }
+
+    /**
+     * Escapes a member name as a JSON Pointer reference token (RFC 6901)
+     */
+    private static String escape(String name) {
+        if (name.indexOf('~') < 0 && name.indexOf('/') < 0) {
+            return name;
+        }
+        return name.replace("~", "~0").replace("/", "~1");
+    }
+}
@@ -0,0 +1,40 @@
+package rgonzalez.smbc.contacts.controller;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import rgonzalez.smbc.contacts.api.AdminApi;
+import rgonzalez.smbc.contacts.model.dto.DeadLetterReplayResult;
+import rgonzalez.smbc.contacts.security.UserAuthorizationService;
+import rgonzalez.smbc.contacts.service.DeadLetterReplayService;
+
+@RestController
+@RequestMapping("/api/v1/admin")
+public class AdminController implements AdminApi {
+
+    private final DeadLetterReplayService deadLetterReplayService;
+    private final ObjectProvider<UserAuthorizationService> userAuthorizationService;
+
+    public AdminController(DeadLetterReplayService deadLetterReplayService,
+            ObjectProvider<UserAuthorizationService> userAuthorizationService) {
+        this.deadLetterReplayService = deadLetterReplayService;
+        this.userAuthorizationService = userAuthorizationService;
+    }
+
+    @Override
+    public ResponseEntity<DeadLetterReplayResult> replaySsnVerificationDeadLetters(Integer max) {
+        return ResponseEntity.ok(deadLetterReplayService.replaySsnVerificationDeadLetters(max));
+    }
+
+    @Override
+    public ResponseEntity<Void> invalidateUserAuthorities(String userId) {
+        userAuthorizationService.ifAvailable(service -> service.invalidate(userId));
+        return ResponseEntity.noContent().build();
+    }
+
+    @Override
+    public ResponseEntity<Void> invalidateAllAuthorities() {
+        userAuthorizationService.ifAvailable(UserAuthorizationService::invalidateAll);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,42 @@
+package rgonzalez.smbc.contacts.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import rgonzalez.smbc.contacts.api.BusinessEventApi;
+import rgonzalez.smbc.contacts.model.Contact;
+import rgonzalez.smbc.contacts.model.dto.BusinessEventPage;
+import rgonzalez.smbc.contacts.model.dto.BusinessEventPayload;
+import rgonzalez.smbc.contacts.service.BusinessEventService;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/v1/contacts")
+public class BusinessEventController implements BusinessEventApi {
+
+    // Business events are recorded under the simple name of the aggregate class
+    private static final String AGGREGATE_NAME = Contact.class.getSimpleName();
+
+    private final BusinessEventService businessEventService;
+
+    public BusinessEventController(BusinessEventService businessEventService) {
+        this.businessEventService = businessEventService;
+    }
+
+    @Override
+    public ResponseEntity<BusinessEventPage> getContactEvents(@PathVariable Long id, String eventName,
+            LocalDateTime from, LocalDateTime to, String cursor, Integer limit) {
+        BusinessEventPage page = businessEventService.getEventHistory(AGGREGATE_NAME, id.toString(), eventName,
+                from, to, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    @Override
+    public ResponseEntity<BusinessEventPayload> getContactEventPayload(@PathVariable Long id,
+            @PathVariable String eventId) {
+        return businessEventService.getEventPayload(AGGREGATE_NAME, id.toString(), eventId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+}
@@ -1,5 +1,8 @@
 package rgonzalez.smbc.contacts.controller;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
@@ -8,14 +11,39 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
+import rgonzalez.smbc.contacts.logging.LogArgumentRenderer;
+import rgonzalez.smbc.contacts.logging.LogSampler;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Logs controller calls and times them as contacts.controller.calls{class, method}, with
+ * a percentile histogram, so percentiles can be aggregated across instances
+ * at query time; failures are counted as contacts.controller.errors{class, method, exception}.
+ *
+ * Calls are logged at INFO for the share of calls set by {@link LogSampler},
+ * with arguments rendered (redacted and truncated) by
+ * {@link LogArgumentRenderer} only when logged; failures are always logged.
+ */
 @Aspect
 @Component
 public class ControllerLoggingAspect {
 
     private static final Logger logger = LoggerFactory.getLogger(ControllerLoggingAspect.class);
 
+    private final MeterRegistry meterRegistry;
+    private final LogArgumentRenderer argumentRenderer;
+    private final LogSampler logSampler;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public ControllerLoggingAspect(MeterRegistry meterRegistry, LogArgumentRenderer argumentRenderer,
+            LogSampler logSampler) {
+        this.meterRegistry = meterRegistry;
+        this.argumentRenderer = argumentRenderer;
+        this.logSampler = logSampler;
+    }
+
     /**
      * Pointcut that matches all public methods in classes within the controller
      * package
@@ -36,24 +64,53 @@ public class ControllerLoggingAspect {
     public Object logRestControllerMethods(ProceedingJoinPoint joinPoint) throws Throwable {
         String controllerName = joinPoint.getTarget().getClass().getSimpleName();
         String methodName = joinPoint.getSignature().getName();
-        Object[] args = joinPoint.getArgs();
+        boolean logged = logger.isInfoEnabled() && logSampler.isSampled(controllerName, methodName);
 
-        logger.info("Entering REST Controller - Class: {}, Method: {}, Parameters: {}",
-                controllerName, methodName, Arrays.toString(args));
+        if (logged) {
+            logger.info("Entering REST Controller - Class: {}, Method: {}, Parameters: {}",
+                    controllerName, methodName, argumentRenderer.render(joinPoint.getArgs()));
+        }
 
-        long startTime = System.currentTimeMillis();
+        Timer.Sample sample = Timer.start(meterRegistry);
 
         try {
             Object result = joinPoint.proceed();
-            long executionTime = System.currentTimeMillis() - startTime;
-            logger.info("Exiting REST Controller - Class: {}, Method: {}, Execution Time: {}ms",
-                    controllerName, methodName, executionTime);
+            long executionTime = stop(sample, controllerName, methodName);
+            if (logged) {
+                logger.info("Exiting REST Controller - Class: {}, Method: {}, Execution Time: {}ms",
+                        controllerName, methodName, executionTime);
+            }
             return result;
         } catch (Throwable throwable) {
-            long executionTime = System.currentTimeMillis() - startTime;
+            long executionTime = stop(sample, controllerName, methodName);
+            errorCounter(controllerName, methodName, throwable).increment();
             logger.error("Exception in REST Controller - Class: {}, Method: {}, Execution Time: {}ms, Error: {}",
                     controllerName, methodName, executionTime, throwable.getMessage(), throwable);
             throw throwable;
         }
     }
+
+    /**
+     * Records the duration of a call
+     *
+     * @return the duration, in milliseconds
+     */
+    private long stop(Timer.Sample sample, String className, String methodName) {
+        Timer timer = timers.computeIfAbsent(className + "." + methodName, key -> Timer.builder("contacts.controller.calls")
+                .tag("class", className)
+                .tag("method", methodName)
+                .description("REST Controller method execution time")
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        return sample.stop(timer) / 1_000_000;
+    }
+
+    private Counter errorCounter(String className, String methodName, Throwable throwable) {
+        return Counter.builder("contacts.controller.errors")
+                .tag("class", className)
+                .tag("method", methodName)
+                .tag("exception", throwable.getClass().getSimpleName())
+                .description("REST Controller method calls that threw an exception")
+                .register(meterRegistry);
+    }
 }
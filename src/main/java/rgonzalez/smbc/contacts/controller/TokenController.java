@@ -1,5 +1,8 @@
 package rgonzalez.smbc.contacts.controller;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -28,6 +31,9 @@ public class TokenController implements TokenApi {
     @Value("${jwt.expiration:86400000}")
     private long jwtExpirationMs;
 
+    @Value("${contacts.security.token-batch.max-size:1000}")
+    private int batchMaxSize;
+
     public TokenController(TokenService tokenService) {
         this.tokenService = tokenService;
     }
@@ -57,6 +63,31 @@ public class TokenController implements TokenApi {
         }
     }
 
+    @Override
+    public ResponseEntity<List<TokenResponse>> generateTokens(@RequestBody List<TokenRequest> requests) {
+        // Validate batch size and that every item has a networkId
+        if (requests == null || requests.isEmpty() || requests.size() > batchMaxSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        for (TokenRequest request : requests) {
+            if (request == null || request.getNetworkId() == null || request.getNetworkId() <= 0) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
+        try {
+            List<String> tokens = tokenService.generateTokens(requests);
+
+            List<TokenResponse> responses = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                responses.add(new TokenResponse(token, "Bearer", jwtExpirationMs / 1000));
+            }
+            return ResponseEntity.ok(responses);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * Exception handler for invalid JSON requests.
      * Provides clear error message when request body is malformed.
@@ -1,9 +1,23 @@
 package rgonzalez.smbc.contacts.dao;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import rgonzalez.smbc.contacts.model.BusinessEvent;
+import rgonzalez.smbc.contacts.model.dto.BusinessEventPayload;
+
+import java.util.Optional;
 
 @Repository
-public interface BusinessEventRepository extends JpaRepository<BusinessEvent, Long> {
+public interface BusinessEventRepository extends JpaRepository<BusinessEvent, Long>, BusinessEventRepositoryCustom {
+
+    /**
+     * Payload of one event of an aggregate
+     */
+    @Query("SELECT new rgonzalez.smbc.contacts.model.dto.BusinessEventPayload(e.eventId, e.payloadFormat, "
+            + "e.baseEventId, e.eventPayload) FROM BusinessEvent e "
+            + "WHERE e.aggregateId = :aggregateId AND e.aggregateName = :aggregateName AND e.eventId = :eventId")
+    Optional<BusinessEventPayload> findPayload(@Param("aggregateName") String aggregateName,
+            @Param("aggregateId") String aggregateId, @Param("eventId") String eventId);
 }
@@ -0,0 +1,37 @@
+package rgonzalez.smbc.contacts.dao;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import rgonzalez.smbc.contacts.model.dto.BusinessEventCursor;
+import rgonzalez.smbc.contacts.model.dto.BusinessEventSummary;
+
+/**
+ * Event history queries whose predicates depend on the filters given.
+ */
+public interface BusinessEventRepositoryCustom {
+
+    /**
+     * Event history of an aggregate, newest first, without payloads. Keyset
+     * paginated on (creation time, id): only events before {@code cursor} are
+     * returned, so each page is an index range scan on (aggregateId,
+     * createdTimestamp, id), or on (aggregateId, eventName, createdTimestamp,
+     * id) when filtering by name, regardless of how deep the client paginates.
+     * As the table is partitioned by creation time, the cursor also bounds the
+     * partitions read: the first page reads them newest first and every later
+     * page skips those newer than its cursor, even without a time range. The
+     * time predicates are only added for the bounds given.
+     *
+     * @param aggregateName the aggregate type, e.g. Contact
+     * @param aggregateId   the aggregate ID
+     * @param eventName     only events with this name (optional)
+     * @param cursor        only events before this position (optional, none for
+     *                      the first page)
+     * @param from          only events created at or after this time (optional)
+     * @param to            only events created before this time (optional)
+     * @param limit         the maximum number of events to return
+     * @return the events, newest first
+     */
+    List<BusinessEventSummary> findHistory(String aggregateName, String aggregateId, String eventName,
+            BusinessEventCursor cursor, LocalDateTime from, LocalDateTime to, int limit);
+}
@@ -0,0 +1,70 @@
+package rgonzalez.smbc.contacts.dao;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import rgonzalez.smbc.contacts.model.dto.BusinessEventCursor;
+import rgonzalez.smbc.contacts.model.dto.BusinessEventSummary;
+
+/**
+ * JPQL implementation of {@link BusinessEventRepositoryCustom}.
+ *
+ * Each combination of filters yields its own fixed query shape, so every
+ * shape keeps its own cached plan.
+ */
+public class BusinessEventRepositoryImpl implements BusinessEventRepositoryCustom {
+
+    private static final String SELECT_SUMMARY = "SELECT new rgonzalez.smbc.contacts.model.dto.BusinessEventSummary("
+            + "e.id, e.eventId, e.aggregateId, e.aggregateName, e.eventName, e.payloadFormat, e.baseEventId, "
+            + "e.schemaVersion, e.correlationId, e.eventDirection, e.traceable.createdBy, "
+            + "e.traceable.createdTimestamp) FROM BusinessEvent e "
+            + "WHERE e.aggregateId = :aggregateId AND e.aggregateName = :aggregateName";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BusinessEventSummary> findHistory(String aggregateName, String aggregateId, String eventName,
+            BusinessEventCursor cursor, LocalDateTime from, LocalDateTime to, int limit) {
+        StringBuilder jpql = new StringBuilder(SELECT_SUMMARY);
+        if (cursor != null) {
+            // The plain upper bound on the creation time is what the partitions are pruned on
+            jpql.append(" AND e.traceable.createdTimestamp <= :cursorTimestamp"
+                    + " AND (e.traceable.createdTimestamp < :cursorTimestamp OR e.id < :cursorId)");
+        }
+        if (eventName != null) {
+            jpql.append(" AND e.eventName = :eventName");
+        }
+        if (from != null) {
+            jpql.append(" AND e.traceable.createdTimestamp >= :from");
+        }
+        if (to != null) {
+            jpql.append(" AND e.traceable.createdTimestamp < :to");
+        }
+        jpql.append(" ORDER BY e.traceable.createdTimestamp DESC, e.id DESC");
+
+        TypedQuery<BusinessEventSummary> query = entityManager.createQuery(jpql.toString(),
+                BusinessEventSummary.class)
+                .setParameter("aggregateId", aggregateId)
+                .setParameter("aggregateName", aggregateName)
+                .setMaxResults(limit);
+        if (cursor != null) {
+            query.setParameter("cursorTimestamp", cursor.createdTimestamp());
+            query.setParameter("cursorId", cursor.id());
+        }
+        if (eventName != null) {
+            query.setParameter("eventName", eventName);
+        }
+        if (from != null) {
+            query.setParameter("from", from);
+        }
+        if (to != null) {
+            query.setParameter("to", to);
+        }
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,50 @@
+package rgonzalez.smbc.contacts.dao;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import rgonzalez.smbc.contacts.model.ConsumerOffset;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for Kafka consumer offsets stored in the database.
+ */
+@Repository
+public interface ConsumerOffsetRepository extends JpaRepository<ConsumerOffset, Long> {
+
+    /**
+     * Find the stored offsets of some partitions of a topic.
+     * 
+     * @param groupId    the consumer group
+     * @param topic      the topic
+     * @param partitions the partition numbers
+     * @return the stored offsets, only for partitions that have one
+     */
+    List<ConsumerOffset> findByGroupIdAndTopicAndPartitionNumberIn(String groupId, String topic,
+            Collection<Integer> partitions);
+
+    /**
+     * Move the stored offset of a partition forward. Never moves it back, so a
+     * consumer that lost the partition in a rebalance cannot undo the progress
+     * of the new owner.
+     * 
+     * @return the number of rows updated, 0 if the partition has no stored
+     *         offset yet or it is already at or past nextOffset
+     */
+    @Modifying
+    @Query("UPDATE ConsumerOffset o SET o.nextOffset = :nextOffset, o.updatedTimestamp = :updatedAt "
+            + "WHERE o.groupId = :groupId AND o.topic = :topic AND o.partitionNumber = :partition "
+            + "AND o.nextOffset < :nextOffset")
+    int advance(@Param("groupId") String groupId, @Param("topic") String topic, @Param("partition") int partition,
+            @Param("nextOffset") long nextOffset, @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Check whether a partition has a stored offset.
+     */
+    boolean existsByGroupIdAndTopicAndPartitionNumber(String groupId, String topic, int partitionNumber);
+}
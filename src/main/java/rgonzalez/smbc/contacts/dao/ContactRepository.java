@@ -5,5 +5,5 @@ import org.springframework.stereotype.Repository;
 import rgonzalez.smbc.contacts.model.Contact;
 
 @Repository
-public interface ContactRepository extends JpaRepository<Contact, Long> {
+public interface ContactRepository extends JpaRepository<Contact, Long>, ContactRepositoryCustom {
 }
@@ -0,0 +1,36 @@
+package rgonzalez.smbc.contacts.dao;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Bulk operations on contacts that bypass the persistence context.
+ */
+public interface ContactRepositoryCustom {
+
+    /**
+     * Sets the SSN verification status of several contacts with JDBC batching,
+     * without loading them. A contact is only updated when the result is newer
+     * than the one that set its current status (by verification timestamp), so
+     * a result applied late, e.g. from a retry topic, never overwrites a newer
+     * one. The version is incremented so optimistic locking still detects the
+     * change.
+     *
+     * @param updates   the new status of each contact; unknown ids are ignored
+     * @param updatedBy the user recorded as last modifier
+     * @param updatedAt the modification time
+     * @return the number of contacts updated
+     */
+    int updateSsnVerificationStatus(List<SsnVerificationStatusUpdate> updates, String updatedBy,
+            LocalDateTime updatedAt);
+
+    /**
+     * The SSN verification status to set on a contact
+     *
+     * @param contactId             the contact id
+     * @param status                the new verification status
+     * @param verificationTimestamp the verification timestamp of the result
+     */
+    record SsnVerificationStatusUpdate(Long contactId, String status, Long verificationTimestamp) {
+    }
+}
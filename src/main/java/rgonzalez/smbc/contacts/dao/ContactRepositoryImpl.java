@@ -0,0 +1,77 @@
+package rgonzalez.smbc.contacts.dao;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import rgonzalez.smbc.contacts.model.Contact;
+
+/**
+ * JDBC batch implementation of {@link ContactRepositoryCustom}.
+ *
+ * Runs on the connection of the current JPA transaction, so the updates commit
+ * or roll back together with the rest of the unit of work. Column names come
+ * from the Hibernate mapping.
+ */
+public class ContactRepositoryImpl implements ContactRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PhysicalNameResolver nameResolver;
+    private final int batchSize;
+    private volatile String updateStatusSql;
+
+    public ContactRepositoryImpl(DataSource dataSource, PhysicalNameResolver nameResolver,
+            @Value("${contacts.storage.jdbc-batch-size:100}") int batchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.nameResolver = nameResolver;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public int updateSsnVerificationStatus(List<SsnVerificationStatusUpdate> updates, String updatedBy,
+            LocalDateTime updatedAt) {
+        if (updates.isEmpty()) {
+            return 0;
+        }
+        Timestamp updatedTimestamp = Timestamp.valueOf(updatedAt);
+        int[][] counts = jdbcTemplate.batchUpdate(updateStatusSql(), updates, batchSize, (ps, update) -> {
+            ps.setString(1, update.status());
+            ps.setObject(2, update.verificationTimestamp());
+            ps.setString(3, updatedBy);
+            ps.setTimestamp(4, updatedTimestamp);
+            ps.setLong(5, update.contactId());
+            ps.setObject(6, update.verificationTimestamp());
+        });
+        int updated = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // Drivers may report SUCCESS_NO_INFO (-2) for batched statements
+                updated += count == PreparedStatement.SUCCESS_NO_INFO ? 1 : count;
+            }
+        }
+        return updated;
+    }
+
+    private String updateStatusSql() {
+        String sql = updateStatusSql;
+        if (sql == null) {
+            String status = nameResolver.columnName(Contact.class, "ssnVerificationStatus");
+            String timestamp = nameResolver.columnName(Contact.class, "ssnVerificationTimestamp");
+            String version = nameResolver.columnName(Contact.class, "version");
+            sql = "UPDATE " + nameResolver.tableName(Contact.class) + " SET " + status + " = ?, " + timestamp
+                    + " = ?, " + version + " = " + version + " + 1, "
+                    + nameResolver.columnName(Contact.class, "traceable.updatedBy") + " = ?, "
+                    + nameResolver.columnName(Contact.class, "traceable.updatedTimestamp") + " = ? WHERE "
+                    + nameResolver.idColumnName(Contact.class) + " = ? AND (" + timestamp + " IS NULL OR "
+                    + timestamp + " < ?)";
+            updateStatusSql = sql;
+        }
+        return sql;
+    }
+}
@@ -19,6 +19,7 @@ import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import rgonzalez.smbc.contacts.dao.statistics.QueryStatisticsConfiguration;
 import java.sql.Connection;
 import java.sql.Statement;
 import java.util.Optional;
@@ -55,6 +56,10 @@ public class JpaConfiguration {
 	@Value("${spring.datasource.secondary.password}")
 	private String secondaryDatasourcePassword;
 
+	// Hibernate statistics and per-request query counting
+	@Value("${contacts.jpa.statistics.enabled:false}")
+	private boolean statisticsEnabled;
+
 	// PRIMARY DATASOURCE
 
 	@Bean
@@ -163,7 +168,11 @@ public class JpaConfiguration {
 		props.setProperty("hibernate.hbm2ddl.auto", "drop-and-create");
 		props.setProperty("hibernate.hbm2ddl.create_namespaces", "true");
 		props.setProperty("hibernate.show_sql", "true");
-		logger.info("JPA Properties - show_sql: true, ddl-auto: drop-and-create, create_namespaces: true");
+		if (statisticsEnabled) {
+			props.putAll(QueryStatisticsConfiguration.HIBERNATE_PROPERTIES);
+		}
+		logger.info("JPA Properties - show_sql: true, ddl-auto: drop-and-create, create_namespaces: true, statistics: {}",
+				statisticsEnabled);
 		return props;
 	}
 
@@ -172,7 +181,11 @@ public class JpaConfiguration {
 		props.setProperty("hibernate.hbm2ddl.auto", "validate");
 		props.setProperty("hibernate.hbm2ddl.create_namespaces", "false");
 		props.setProperty("hibernate.show_sql", "true");
-		logger.info("JPA Properties - show_sql: true, ddl-auto: validate, create_namespaces: false");
+		if (statisticsEnabled) {
+			props.putAll(QueryStatisticsConfiguration.HIBERNATE_PROPERTIES);
+		}
+		logger.info("JPA Properties - show_sql: true, ddl-auto: validate, create_namespaces: false, statistics: {}",
+				statisticsEnabled);
 		return props;
 	}
 
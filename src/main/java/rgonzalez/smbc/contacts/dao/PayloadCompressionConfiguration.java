@@ -0,0 +1,85 @@
+package rgonzalez.smbc.contacts.dao;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import rgonzalez.smbc.contacts.model.system.CompressedTextConverter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configures compressed storage of large text columns
+ * (BusinessEvent.eventPayload, SsnVerificationResult.message) and exposes the
+ * storage and encode/decode cost of {@link CompressedTextConverter} as metrics,
+ * so the effect of compression can be measured before and after enabling it.
+ */
+@Configuration
+public class PayloadCompressionConfiguration {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayloadCompressionConfiguration.class);
+
+    @Value("${contacts.storage.compression.enabled:true}")
+    private boolean compressionEnabled;
+
+    @Value("${contacts.storage.compression.min-size:256}")
+    private int minSizeBytes;
+
+    @Value("${contacts.storage.compression.level:-1}")
+    private int compressionLevel;
+
+    @PostConstruct
+    public void configureConverter() {
+        CompressedTextConverter.configure(compressionEnabled, minSizeBytes, compressionLevel);
+        logger.info("Payload compression - enabled: {}, min-size: {} bytes, level: {}",
+                compressionEnabled, minSizeBytes, compressionLevel);
+    }
+
+    /**
+     * Binds the converter statistics to the meter registry:
+     * - contacts.storage.payload.bytes{stage=raw|stored}: bytes before/after
+     * compression
+     * - contacts.storage.payload.ratio: stored bytes / raw bytes
+     * - contacts.storage.payload.encode / decode: conversion time (insert/read
+     * cost)
+     */
+    @Bean
+    public MeterBinder payloadCompressionMetrics() {
+        return registry -> {
+            FunctionCounter.builder("contacts.storage.payload.bytes", CompressedTextConverter.class,
+                    c -> CompressedTextConverter.getRawBytes())
+                    .tag("stage", "raw")
+                    .baseUnit("bytes")
+                    .description("Uncompressed size of large text columns written")
+                    .register(registry);
+            FunctionCounter.builder("contacts.storage.payload.bytes", CompressedTextConverter.class,
+                    c -> CompressedTextConverter.getStoredBytes())
+                    .tag("stage", "stored")
+                    .baseUnit("bytes")
+                    .description("Stored size of large text columns written")
+                    .register(registry);
+            Gauge.builder("contacts.storage.payload.ratio", CompressedTextConverter.class,
+                    c -> CompressedTextConverter.getRawBytes() == 0 ? 1.0
+                            : (double) CompressedTextConverter.getStoredBytes()
+                                    / CompressedTextConverter.getRawBytes())
+                    .description("Stored bytes divided by raw bytes for large text columns")
+                    .register(registry);
+            FunctionTimer.builder("contacts.storage.payload.encode", CompressedTextConverter.class,
+                    c -> CompressedTextConverter.getEncodeCount(),
+                    c -> CompressedTextConverter.getEncodeNanos(), TimeUnit.NANOSECONDS)
+                    .description("Time spent encoding large text columns on insert/update")
+                    .register(registry);
+            FunctionTimer.builder("contacts.storage.payload.decode", CompressedTextConverter.class,
+                    c -> CompressedTextConverter.getDecodeCount(),
+                    c -> CompressedTextConverter.getDecodeNanos(), TimeUnit.NANOSECONDS)
+                    .description("Time spent decoding large text columns on read")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package rgonzalez.smbc.contacts.dao;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the physical table and column names Hibernate uses for an entity.
+ *
+ * The naming strategy differs between profiles (Spring Boot's snake_case
+ * strategy vs. the Hibernate default used by {@link JpaConfiguration}), so
+ * native SQL built outside of JPA must ask the mapping model instead of
+ * hard-coding column names.
+ */
+@Component
+public class PhysicalNameResolver {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public PhysicalNameResolver(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * @param entityClass the mapped entity
+     * @return the table name, qualified with the schema when one is mapped
+     */
+    public String tableName(Class<?> entityClass) {
+        return persister(entityClass).getTableName();
+    }
+
+    /**
+     * @param entityClass  the mapped entity
+     * @param propertyPath the attribute path, e.g. "aggregateId" or
+     *                     "traceable.createdTimestamp"
+     * @return the physical column name of the attribute
+     */
+    public String columnName(Class<?> entityClass, String propertyPath) {
+        String[] columns = persister(entityClass).getPropertyColumnNames(propertyPath);
+        if (columns == null || columns.length != 1) {
+            throw new IllegalArgumentException("Attribute " + propertyPath + " of " + entityClass.getSimpleName()
+                    + " does not map to a single column");
+        }
+        return columns[0];
+    }
+
+    /**
+     * @param entityClass the mapped entity
+     * @return the physical name of the identifier column
+     */
+    public String idColumnName(Class<?> entityClass) {
+        return persister(entityClass).getIdentifierColumnNames()[0];
+    }
+
+    private AbstractEntityPersister persister(Class<?> entityClass) {
+        return (AbstractEntityPersister) entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(entityClass);
+    }
+}
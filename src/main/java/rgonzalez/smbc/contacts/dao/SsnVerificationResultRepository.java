@@ -1,9 +1,12 @@
 package rgonzalez.smbc.contacts.dao;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import rgonzalez.smbc.contacts.model.SsnVerificationResult;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -12,7 +15,8 @@ import java.util.List;
  * integration-api.
  */
 @Repository
-public interface SsnVerificationResultRepository extends JpaRepository<SsnVerificationResult, Long> {
+public interface SsnVerificationResultRepository
+        extends JpaRepository<SsnVerificationResult, Long>, SsnVerificationResultRepositoryCustom {
 
     /**
      * Find all verification results for a specific contact.
@@ -45,4 +49,13 @@ public interface SsnVerificationResultRepository extends JpaRepository<SsnVerifi
      * @return list of verification results
      */
     List<SsnVerificationResult> findByMatching(boolean isMatching);
+
+    /**
+     * Find which of the given message ids are already stored.
+     * 
+     * @param messageIds the message ids to look up
+     * @return the message ids that already have a verification result
+     */
+    @Query("SELECT r.messageId FROM SsnVerificationResult r WHERE r.messageId IN :messageIds")
+    List<String> findExistingMessageIds(@Param("messageIds") Collection<String> messageIds);
 }
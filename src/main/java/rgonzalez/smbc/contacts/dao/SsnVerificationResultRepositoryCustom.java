@@ -0,0 +1,21 @@
+package rgonzalez.smbc.contacts.dao;
+
+import java.util.List;
+
+import rgonzalez.smbc.contacts.model.SsnVerificationResult;
+
+/**
+ * Bulk operations on SSN verification results that bypass the persistence
+ * context.
+ */
+public interface SsnVerificationResultRepositoryCustom {
+
+    /**
+     * Inserts the results with JDBC batching. The results are not attached to
+     * the persistence context and their ids are not populated.
+     *
+     * @param results the results to insert
+     * @return the number of rows inserted
+     */
+    int insertAll(List<SsnVerificationResult> results);
+}
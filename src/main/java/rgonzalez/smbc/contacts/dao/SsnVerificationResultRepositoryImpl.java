@@ -0,0 +1,97 @@
+package rgonzalez.smbc.contacts.dao;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import rgonzalez.smbc.contacts.model.SsnVerificationResult;
+import rgonzalez.smbc.contacts.model.system.CompressedTextConverter;
+
+/**
+ * JDBC batch implementation of {@link SsnVerificationResultRepositoryCustom}.
+ *
+ * Runs on the connection of the current JPA transaction, so the rows commit or
+ * roll back together with the rest of the unit of work. Column names come from
+ * the Hibernate mapping and the message is encoded with the same converter as
+ * the entity, so rows read back through JPA exactly like rows saved by it. The
+ * created/updated timestamps are left to their column defaults.
+ */
+public class SsnVerificationResultRepositoryImpl implements SsnVerificationResultRepositoryCustom {
+
+    private static final String[] ATTRIBUTES = { "messageId", "contactId", "ssn", "firstName", "lastName", "status",
+            "isMatching", "message", "verificationSource", "verificationTimestamp", "traceable.createdBy",
+            "traceable.updatedBy" };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PhysicalNameResolver nameResolver;
+    private final CompressedTextConverter messageConverter = new CompressedTextConverter();
+    private final int batchSize;
+    private volatile String insertSql;
+
+    public SsnVerificationResultRepositoryImpl(DataSource dataSource, PhysicalNameResolver nameResolver,
+            @Value("${contacts.storage.jdbc-batch-size:100}") int batchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.nameResolver = nameResolver;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public int insertAll(List<SsnVerificationResult> results) {
+        if (results.isEmpty()) {
+            return 0;
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(insertSql(), results, batchSize, this::bind);
+        int inserted = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // Drivers may report SUCCESS_NO_INFO (-2) for batched statements
+                inserted += count == PreparedStatement.SUCCESS_NO_INFO ? 1 : count;
+            }
+        }
+        return inserted;
+    }
+
+    private void bind(PreparedStatement ps, SsnVerificationResult result) throws SQLException {
+        String createdBy = result.getTraceable().getCreatedBy() != null ? result.getTraceable().getCreatedBy()
+                : "system";
+        String updatedBy = result.getTraceable().getUpdatedBy() != null ? result.getTraceable().getUpdatedBy()
+                : createdBy;
+        ps.setString(1, result.getMessageId());
+        ps.setString(2, result.getContactId());
+        ps.setString(3, result.getSsn());
+        ps.setString(4, result.getFirstName());
+        ps.setString(5, result.getLastName());
+        ps.setString(6, result.getStatus());
+        ps.setBoolean(7, result.isMatching());
+        ps.setBytes(8, messageConverter.convertToDatabaseColumn(result.getMessage()));
+        ps.setString(9, result.getVerificationSource());
+        ps.setObject(10, result.getVerificationTimestamp());
+        ps.setString(11, createdBy);
+        ps.setString(12, updatedBy);
+    }
+
+    private String insertSql() {
+        String sql = insertSql;
+        if (sql == null) {
+            StringBuilder columns = new StringBuilder();
+            StringBuilder placeholders = new StringBuilder();
+            for (String attribute : ATTRIBUTES) {
+                if (!columns.isEmpty()) {
+                    columns.append(", ");
+                    placeholders.append(", ");
+                }
+                columns.append(nameResolver.columnName(SsnVerificationResult.class, attribute));
+                placeholders.append('?');
+            }
+            sql = "INSERT INTO " + nameResolver.tableName(SsnVerificationResult.class) + " (" + columns
+                    + ") VALUES (" + placeholders + ")";
+            insertSql = sql;
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,108 @@
+package rgonzalez.smbc.contacts.dao.partition;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import rgonzalez.smbc.contacts.model.system.CompressedTextConverter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Archives a detached business events table to a gzip compressed NDJSON file
+ * (one JSON object per row, keyed by column name).
+ *
+ * Binary columns hold values written by {@link CompressedTextConverter}; they
+ * are decoded back to text so the archive can be read without the
+ * application. The file is written under a temporary name and moved into
+ * place once complete, so a file with the final name is always whole.
+ */
+public class BusinessEventArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(BusinessEventArchiver.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final Path archiveDirectory;
+    private final CompressedTextConverter converter = new CompressedTextConverter();
+
+    public BusinessEventArchiver(JdbcTemplate jdbcTemplate, Path archiveDirectory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.archiveDirectory = archiveDirectory;
+    }
+
+    /**
+     * Writes every row of the table to {@code <archive-dir>/<name>.ndjson.gz}
+     *
+     * @param qualifiedTable the detached table
+     * @param name           the base name of the archive file
+     * @return the archive file
+     */
+    public Path archive(String qualifiedTable, String name) {
+        Path target = archiveDirectory.resolve(name + ".ndjson.gz");
+        Path temporary = archiveDirectory.resolve(name + ".ndjson.gz.tmp");
+        long[] rows = { 0 };
+
+        try {
+            Files.createDirectories(archiveDirectory);
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temporary), 64 * 1024);
+                    JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+                generator.setRootValueSeparator(null);
+                jdbcTemplate.query("SELECT * FROM " + qualifiedTable, rs -> {
+                    ResultSetMetaData metaData = rs.getMetaData();
+                    try {
+                        generator.writeStartObject();
+                        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                            generator.writeFieldName(metaData.getColumnLabel(i));
+                            writeValue(generator, rs, i, metaData.getColumnType(i));
+                        }
+                        generator.writeEndObject();
+                        generator.writeRaw('\n');
+                        rows[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | UncheckedIOException e) {
+            try {
+                Files.deleteIfExists(temporary);
+            } catch (IOException ignored) {
+                // The temporary file is overwritten by the next attempt
+            }
+            throw new IllegalStateException("Failed to archive " + qualifiedTable + " to " + target, e);
+        }
+
+        logger.info("Archived {} rows of {} to {}", rows[0], qualifiedTable, target);
+        return target;
+    }
+
+    private void writeValue(JsonGenerator generator, ResultSet rs, int column, int sqlType)
+            throws IOException, SQLException {
+        Object value = switch (sqlType) {
+            case Types.BINARY, Types.VARBINARY, Types.LONGVARBINARY, Types.BLOB ->
+                converter.convertToEntityAttribute(rs.getBytes(column));
+            default -> rs.getObject(column);
+        };
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short) {
+            generator.writeNumber(((Number) value).longValue());
+        } else {
+            generator.writeString(value.toString());
+        }
+    }
+}
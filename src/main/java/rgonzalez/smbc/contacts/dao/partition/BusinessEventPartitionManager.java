@@ -0,0 +1,153 @@
+package rgonzalez.smbc.contacts.dao.partition;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import rgonzalez.smbc.contacts.dao.PhysicalNameResolver;
+import rgonzalez.smbc.contacts.model.BusinessEvent;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.sql.DatabaseMetaData;
+import java.time.Clock;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Keeps the business events table partitioned by month and enforces its
+ * retention.
+ *
+ * At startup the table is prepared for partitioning and the partitions for the
+ * coming months are created. The retention job then, for every month older
+ * than the retention period: detaches the month from the live table, archives
+ * it to {@code <archive-dir>/business_events_pYYYYMM.ndjson.gz} and drops the
+ * detached table. A month whose archive fails keeps its detached table and is
+ * retried on the next run before any new month is detached.
+ *
+ * The strategy is picked from the database product: native partitioning on
+ * PostgreSQL and SQL Server, rolling tables elsewhere.
+ */
+@Component
+@ConditionalOnProperty(name = "contacts.events.partitioning.enabled", havingValue = "true")
+public class BusinessEventPartitionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(BusinessEventPartitionManager.class);
+
+    private final DataSource dataSource;
+    private final PhysicalNameResolver nameResolver;
+    private final Clock clock = Clock.systemDefaultZone();
+
+    @Value("${contacts.events.partitioning.retention-months:12}")
+    private int retentionMonths;
+
+    @Value("${contacts.events.partitioning.premake-months:3}")
+    private int premakeMonths;
+
+    @Value("${contacts.events.partitioning.archive-dir:LogFiles/Archive/business-events}")
+    private Path archiveDirectory;
+
+    private PartitionedTable table;
+    private BusinessEventPartitionStrategy strategy;
+    private BusinessEventArchiver archiver;
+
+    public BusinessEventPartitionManager(DataSource dataSource, PhysicalNameResolver nameResolver) {
+        this.dataSource = dataSource;
+        this.nameResolver = nameResolver;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void initialize() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        table = PartitionedTable.of(nameResolver.tableName(BusinessEvent.class),
+                nameResolver.idColumnName(BusinessEvent.class),
+                nameResolver.columnName(BusinessEvent.class, "traceable.createdTimestamp"));
+
+        String product = databaseProduct();
+        if (product.startsWith("PostgreSQL")) {
+            strategy = new PostgresPartitionStrategy(jdbcTemplate,
+                    new TransactionTemplate(new DataSourceTransactionManager(dataSource)), table);
+        } else if (product.startsWith("Microsoft SQL Server")) {
+            strategy = new SqlServerPartitionStrategy(jdbcTemplate, table);
+        } else {
+            strategy = new RollingTablePartitionStrategy(jdbcTemplate, table);
+        }
+        archiver = new BusinessEventArchiver(jdbcTemplate, archiveDirectory);
+
+        YearMonth currentMonth = YearMonth.now(clock);
+        strategy.initialize(currentMonth);
+        strategy.createPartitions(currentMonth, currentMonth.plusMonths(premakeMonths));
+        logger.info("Partitioning {} by month on {} ({}), retention: {} months, archive: {}",
+                table.qualifiedName(), table.timestampColumn(), strategy.getClass().getSimpleName(),
+                retentionMonths, archiveDirectory.toAbsolutePath());
+    }
+
+    /**
+     * Creates upcoming partitions and retires months past the retention period
+     */
+    @Scheduled(cron = "${contacts.events.partitioning.retention-cron:0 30 2 * * *}")
+    public synchronized void enforceRetention() {
+        if (strategy == null) {
+            return;
+        }
+        YearMonth currentMonth = YearMonth.now(clock);
+        strategy.createPartitions(currentMonth, currentMonth.plusMonths(premakeMonths));
+
+        YearMonth oldestRetained = currentMonth.minusMonths(retentionMonths);
+        retryPendingArchives(oldestRetained);
+
+        List<YearMonth> expired = strategy.listPartitions().stream()
+                .filter(month -> month.isBefore(oldestRetained))
+                .toList();
+        for (YearMonth month : expired) {
+            String detached = strategy.detachPartition(month);
+            archiveAndDrop(detached);
+        }
+        if (!expired.isEmpty()) {
+            logger.info("Retired {} month(s) of {} older than {}", expired.size(), table.qualifiedName(),
+                    oldestRetained);
+        }
+    }
+
+    /**
+     * Archives detached tables left behind by a failed run. Their names are the
+     * partition names, so they are found by probing the expired months.
+     */
+    private void retryPendingArchives(YearMonth oldestRetained) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        List<String> tables = jdbcTemplate.queryForList(
+                "SELECT table_name FROM information_schema.tables WHERE LOWER(table_schema) = LOWER(?)",
+                String.class, table.schema());
+        List<YearMonth> live = strategy.listPartitions();
+        for (String name : tables) {
+            YearMonth month = table.monthOf(name);
+            if (month != null && month.isBefore(oldestRetained) && !live.contains(month)) {
+                logger.info("Resuming archive of detached table {}", name);
+                archiveAndDrop(table.qualify(name));
+            }
+        }
+    }
+
+    private void archiveAndDrop(String detached) {
+        String name = detached.substring(detached.lastIndexOf('.') + 1).toLowerCase();
+        archiver.archive(detached, name);
+        strategy.dropDetached(detached);
+    }
+
+    private String databaseProduct() {
+        try {
+            return JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Unable to determine the database product", e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package rgonzalez.smbc.contacts.dao.partition;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Database specific handling of the monthly partitions of the business events
+ * table.
+ *
+ * Retention works the same way for every database: a partition is detached
+ * into a standalone table, the table is archived, then dropped.
+ */
+public interface BusinessEventPartitionStrategy {
+
+    /**
+     * Prepares the table for monthly partitioning. Called once at startup after
+     * Hibernate created the schema; must be idempotent.
+     */
+    void initialize(YearMonth currentMonth);
+
+    /**
+     * Makes sure partitions exist for every month in the given range
+     *
+     * @param from first month (inclusive)
+     * @param to   last month (inclusive)
+     */
+    void createPartitions(YearMonth from, YearMonth to);
+
+    /**
+     * @return the months that currently have a partition (or rows, for emulated
+     *         partitioning), in ascending order
+     */
+    List<YearMonth> listPartitions();
+
+    /**
+     * Detaches a month out of the live table
+     *
+     * @param month the month to detach
+     * @return the qualified name of the standalone table now holding its rows
+     */
+    String detachPartition(YearMonth month);
+
+    /**
+     * Drops a table previously returned by {@link #detachPartition(YearMonth)}
+     */
+    void dropDetached(String qualifiedTable);
+}
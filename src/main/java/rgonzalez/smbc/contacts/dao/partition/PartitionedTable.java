@@ -0,0 +1,60 @@
+package rgonzalez.smbc.contacts.dao.partition;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Physical names of a table partitioned by month on a timestamp column.
+ *
+ * @param schema          the schema holding the table (may be null)
+ * @param table           the unqualified table name
+ * @param idColumn        the identifier column
+ * @param timestampColumn the partition key column
+ */
+public record PartitionedTable(String schema, String table, String idColumn, String timestampColumn) {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    /**
+     * Builds the descriptor from a possibly schema-qualified table name
+     */
+    public static PartitionedTable of(String qualifiedTable, String idColumn, String timestampColumn) {
+        int dot = qualifiedTable.lastIndexOf('.');
+        return dot < 0
+                ? new PartitionedTable(null, qualifiedTable, idColumn, timestampColumn)
+                : new PartitionedTable(qualifiedTable.substring(0, dot), qualifiedTable.substring(dot + 1),
+                        idColumn, timestampColumn);
+    }
+
+    public String qualifiedName() {
+        return qualify(table);
+    }
+
+    /**
+     * @return the unqualified name of the partition (or rolled table) for a month
+     */
+    public String partitionName(YearMonth month) {
+        return table + "_p" + month.format(PARTITION_SUFFIX);
+    }
+
+    /**
+     * @return the month of a partition name produced by
+     *         {@link #partitionName(YearMonth)}, or null for any other name
+     */
+    public YearMonth monthOf(String partitionName) {
+        String prefix = table + "_p";
+        if (partitionName.length() != prefix.length() + 6
+                || !partitionName.regionMatches(true, 0, prefix, 0, prefix.length())) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partitionName.substring(prefix.length()), PARTITION_SUFFIX);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    public String qualify(String name) {
+        return schema == null ? name : schema + "." + name;
+    }
+}
@@ -0,0 +1,133 @@
+package rgonzalez.smbc.contacts.dao.partition;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Native declarative range partitioning on PostgreSQL.
+ *
+ * Hibernate creates a plain table, so {@link #initialize(YearMonth)} converts
+ * it once: the table is renamed, a {@code PARTITION BY RANGE} copy is created
+ * with a primary key that includes the partition key (a PostgreSQL
+ * requirement), monthly partitions are created for the existing rows, the rows
+ * are copied and the old table dropped. PostgreSQL DDL is transactional, so
+ * the whole conversion runs in one transaction, holding an exclusive lock on
+ * the table: a failure leaves the original table untouched and the conversion
+ * is attempted again on the next startup. A DEFAULT partition catches rows
+ * outside the pre-created range; months are pre-created ahead of time so it
+ * normally stays empty.
+ */
+public class PostgresPartitionStrategy implements BusinessEventPartitionStrategy {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresPartitionStrategy.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PartitionedTable table;
+
+    public PostgresPartitionStrategy(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            PartitionedTable table) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.table = table;
+    }
+
+    @Override
+    public void initialize(YearMonth currentMonth) {
+        if (isPartitioned()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            // Another instance may have converted the table while this one waited
+            jdbcTemplate.execute("LOCK TABLE " + table.qualifiedName() + " IN ACCESS EXCLUSIVE MODE");
+            if (!isPartitioned()) {
+                convert(currentMonth);
+            }
+        });
+    }
+
+    private boolean isPartitioned() {
+        String kind = jdbcTemplate.queryForObject(
+                "SELECT c.relkind::text FROM pg_class c WHERE c.oid = to_regclass(?)",
+                String.class, table.qualifiedName());
+        return "p".equals(kind);
+    }
+
+    private void convert(YearMonth currentMonth) {
+        String legacy = table.table() + "_unpartitioned";
+        String qualifiedLegacy = table.qualify(legacy);
+        logger.info("Converting {} to a range partitioned table", table.qualifiedName());
+
+        jdbcTemplate.execute("ALTER TABLE " + table.qualifiedName() + " RENAME TO " + legacy);
+        jdbcTemplate.execute("CREATE TABLE " + table.qualifiedName() + " (LIKE " + qualifiedLegacy
+                + " INCLUDING DEFAULTS INCLUDING IDENTITY, PRIMARY KEY (" + table.idColumn() + ", "
+                + table.timestampColumn() + ")) PARTITION BY RANGE (" + table.timestampColumn() + ")");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + table.qualify(table.table() + "_default")
+                + " PARTITION OF " + table.qualifiedName() + " DEFAULT");
+
+        Timestamp oldest = jdbcTemplate.queryForObject(
+                "SELECT MIN(" + table.timestampColumn() + ") FROM " + qualifiedLegacy, Timestamp.class);
+        YearMonth first = oldest == null ? currentMonth : YearMonth.from(oldest.toLocalDateTime());
+        createPartitions(first, currentMonth);
+
+        jdbcTemplate.execute("INSERT INTO " + table.qualifiedName() + " OVERRIDING SYSTEM VALUE SELECT * FROM "
+                + qualifiedLegacy);
+
+        // Secondary indexes are recreated on the parent (and so on every partition)
+        // once the old table and its index names are gone
+        List<String> indexDefinitions = jdbcTemplate.queryForList(
+                "SELECT i.indexdef FROM pg_indexes i WHERE i.schemaname = ? AND i.tablename = ? "
+                        + "AND NOT EXISTS (SELECT 1 FROM pg_constraint c WHERE c.conname = i.indexname "
+                        + "AND c.contype = 'p')",
+                String.class, table.schema(), legacy);
+        jdbcTemplate.execute("DROP TABLE " + qualifiedLegacy);
+        for (String definition : indexDefinitions) {
+            jdbcTemplate.execute(definition.replace(" ON " + qualifiedLegacy + " ", " ON " + table.qualifiedName()
+                    + " "));
+        }
+        jdbcTemplate.execute("SELECT setval(pg_get_serial_sequence('" + table.qualifiedName() + "', '"
+                + table.idColumn() + "'), COALESCE(MAX(" + table.idColumn() + "), 0) + 1, false) FROM "
+                + table.qualifiedName());
+    }
+
+    @Override
+    public void createPartitions(YearMonth from, YearMonth to) {
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + table.qualify(table.partitionName(month))
+                    + " PARTITION OF " + table.qualifiedName() + " FOR VALUES FROM ('" + month.atDay(1)
+                    + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+        }
+    }
+
+    @Override
+    public List<YearMonth> listPartitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                        + "WHERE i.inhparent = to_regclass(?) ORDER BY c.relname",
+                String.class, table.qualifiedName())
+                .stream()
+                .map(table::monthOf)
+                .filter(Objects::nonNull)
+                .sorted()
+                .toList();
+    }
+
+    @Override
+    public String detachPartition(YearMonth month) {
+        String partition = table.qualify(table.partitionName(month));
+        jdbcTemplate.execute("ALTER TABLE " + table.qualifiedName() + " DETACH PARTITION " + partition);
+        return partition;
+    }
+
+    @Override
+    public void dropDetached(String qualifiedTable) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + qualifiedTable);
+    }
+}
@@ -0,0 +1,69 @@
+package rgonzalez.smbc.contacts.dao.partition;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Emulated partitioning for databases without native range partitioning (H2
+ * in tests and local runs).
+ *
+ * The live table keeps all rows; detaching a month copies its rows into a
+ * standalone {@code <table>_pYYYYMM} table and deletes them from the live
+ * table. Months are derived from the rows themselves, so
+ * {@link #createPartitions(YearMonth, YearMonth)} has nothing to do.
+ */
+public class RollingTablePartitionStrategy implements BusinessEventPartitionStrategy {
+
+    private static final Logger logger = LoggerFactory.getLogger(RollingTablePartitionStrategy.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PartitionedTable table;
+
+    public RollingTablePartitionStrategy(JdbcTemplate jdbcTemplate, PartitionedTable table) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.table = table;
+    }
+
+    @Override
+    public void initialize(YearMonth currentMonth) {
+        logger.info("Using rolling tables for {} (no native partitioning)", table.qualifiedName());
+    }
+
+    @Override
+    public void createPartitions(YearMonth from, YearMonth to) {
+        // Rows of every month live in the same table until they are detached
+    }
+
+    @Override
+    public List<YearMonth> listPartitions() {
+        String ts = table.timestampColumn();
+        return jdbcTemplate.query(
+                "SELECT DISTINCT EXTRACT(YEAR FROM " + ts + ") AS y, EXTRACT(MONTH FROM " + ts + ") AS m FROM "
+                        + table.qualifiedName() + " ORDER BY y, m",
+                (rs, rowNum) -> YearMonth.of(rs.getInt(1), rs.getInt(2)));
+    }
+
+    @Override
+    public String detachPartition(YearMonth month) {
+        String detached = table.qualify(table.partitionName(month));
+        String range = table.timestampColumn() + " >= TIMESTAMP '" + month.atDay(1) + " 00:00:00' AND "
+                + table.timestampColumn() + " < TIMESTAMP '" + month.plusMonths(1).atDay(1) + " 00:00:00'";
+
+        // A previous run may have failed between the copy and the delete
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + detached);
+        jdbcTemplate.execute("CREATE TABLE " + detached + " AS SELECT * FROM " + table.qualifiedName()
+                + " WHERE " + range);
+        int deleted = jdbcTemplate.update("DELETE FROM " + table.qualifiedName() + " WHERE " + range);
+        logger.info("Moved {} rows of {} from {} to {}", deleted, month, table.qualifiedName(), detached);
+        return detached;
+    }
+
+    @Override
+    public void dropDetached(String qualifiedTable) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + qualifiedTable);
+    }
+}
@@ -0,0 +1,151 @@
+package rgonzalez.smbc.contacts.dao.partition;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Native table partitioning on SQL Server.
+ *
+ * A RANGE RIGHT partition function on the timestamp column has one boundary
+ * per month (the first instant of the month), mapped to the PRIMARY filegroup
+ * by a partition scheme. {@link #initialize(YearMonth)} rebuilds the clustered
+ * primary key as (id, timestamp) on the scheme, and every nonclustered index
+ * aligned with it, so partitions can be switched out.
+ *
+ * Detaching a month switches its partition into an empty staging table with
+ * the same structure (a metadata only operation) and merges the boundary away.
+ */
+public class SqlServerPartitionStrategy implements BusinessEventPartitionStrategy {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlServerPartitionStrategy.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PartitionedTable table;
+    private final String partitionFunction;
+    private final String partitionScheme;
+
+    public SqlServerPartitionStrategy(JdbcTemplate jdbcTemplate, PartitionedTable table) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.table = table;
+        this.partitionFunction = "pf_" + table.table() + "_month";
+        this.partitionScheme = "ps_" + table.table() + "_month";
+    }
+
+    @Override
+    public void initialize(YearMonth currentMonth) {
+        Integer functions = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM sys.partition_functions WHERE name = ?", Integer.class, partitionFunction);
+        if (functions == null || functions == 0) {
+            jdbcTemplate.execute("CREATE PARTITION FUNCTION " + partitionFunction
+                    + " (datetime2) AS RANGE RIGHT FOR VALUES ('" + currentMonth.atDay(1) + "')");
+            jdbcTemplate.execute("CREATE PARTITION SCHEME " + partitionScheme + " AS PARTITION "
+                    + partitionFunction + " ALL TO ([PRIMARY])");
+        }
+
+        Integer partitioned = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM sys.indexes i JOIN sys.partition_schemes s ON s.data_space_id = i.data_space_id "
+                        + "WHERE i.object_id = OBJECT_ID(?) AND i.index_id = 1",
+                Integer.class, table.qualifiedName());
+        if (partitioned != null && partitioned > 0) {
+            return;
+        }
+
+        logger.info("Moving {} onto partition scheme {}", table.qualifiedName(), partitionScheme);
+        Timestamp oldest = jdbcTemplate.queryForObject(
+                "SELECT MIN(" + table.timestampColumn() + ") FROM " + table.qualifiedName(), Timestamp.class);
+        if (oldest != null) {
+            createPartitions(YearMonth.from(oldest.toLocalDateTime()), currentMonth);
+        }
+
+        String primaryKey = jdbcTemplate.queryForObject(
+                "SELECT name FROM sys.key_constraints WHERE parent_object_id = OBJECT_ID(?) AND type = 'PK'",
+                String.class, table.qualifiedName());
+        jdbcTemplate.execute("ALTER TABLE " + table.qualifiedName() + " DROP CONSTRAINT " + primaryKey);
+        jdbcTemplate.execute("ALTER TABLE " + table.qualifiedName() + " ADD CONSTRAINT " + primaryKey
+                + " PRIMARY KEY CLUSTERED (" + table.idColumn() + ", " + table.timestampColumn() + ") ON "
+                + partitionScheme + "(" + table.timestampColumn() + ")");
+        nonClusteredIndexes().forEach((name, columns) -> jdbcTemplate.execute("CREATE INDEX " + name + " ON "
+                + table.qualifiedName() + " (" + columns + ") WITH (DROP_EXISTING = ON) ON " + partitionScheme + "("
+                + table.timestampColumn() + ")"));
+    }
+
+    @Override
+    public void createPartitions(YearMonth from, YearMonth to) {
+        Set<YearMonth> existing = new HashSet<>(listPartitions());
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            if (existing.contains(month)) {
+                continue;
+            }
+            jdbcTemplate.execute("ALTER PARTITION SCHEME " + partitionScheme + " NEXT USED [PRIMARY]");
+            jdbcTemplate.execute("ALTER PARTITION FUNCTION " + partitionFunction + "() SPLIT RANGE ('"
+                    + month.atDay(1) + "')");
+        }
+    }
+
+    @Override
+    public List<YearMonth> listPartitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT CAST(v.value AS datetime2) FROM sys.partition_range_values v "
+                        + "JOIN sys.partition_functions f ON f.function_id = v.function_id "
+                        + "WHERE f.name = ? ORDER BY v.boundary_id",
+                Timestamp.class, partitionFunction)
+                .stream()
+                .map(boundary -> YearMonth.from(boundary.toLocalDateTime()))
+                .toList();
+    }
+
+    @Override
+    public String detachPartition(YearMonth month) {
+        String staging = table.qualify(table.partitionName(month));
+        String ts = table.timestampColumn();
+
+        // The staging table must match the partition: same columns, same
+        // clustered and nonclustered indexes, and a check constraint on the range
+        jdbcTemplate.execute("IF OBJECT_ID('" + staging + "') IS NOT NULL DROP TABLE " + staging);
+        jdbcTemplate.execute("SELECT TOP 0 * INTO " + staging + " FROM " + table.qualifiedName());
+        jdbcTemplate.execute("ALTER TABLE " + staging + " ADD PRIMARY KEY CLUSTERED (" + table.idColumn() + ", "
+                + ts + ")");
+        nonClusteredIndexes().forEach((name, columns) -> jdbcTemplate.execute("CREATE INDEX " + name + " ON "
+                + staging + " (" + columns + ")"));
+        jdbcTemplate.execute("ALTER TABLE " + staging + " ADD CHECK (" + ts + " >= '" + month.atDay(1)
+                + "' AND " + ts + " < '" + month.plusMonths(1).atDay(1) + "')");
+
+        jdbcTemplate.execute("ALTER TABLE " + table.qualifiedName() + " SWITCH PARTITION $PARTITION."
+                + partitionFunction + "('" + month.atDay(1) + "') TO " + staging);
+        jdbcTemplate.execute("ALTER PARTITION FUNCTION " + partitionFunction + "() MERGE RANGE ('"
+                + month.atDay(1) + "')");
+        return staging;
+    }
+
+    /**
+     * @return the key columns of each nonclustered index of the table, by index
+     *         name
+     */
+    private Map<String, String> nonClusteredIndexes() {
+        Map<String, String> indexes = new LinkedHashMap<>();
+        jdbcTemplate.query(
+                "SELECT i.name, STRING_AGG(c.name, ', ') WITHIN GROUP (ORDER BY ic.key_ordinal) FROM sys.indexes i "
+                        + "JOIN sys.index_columns ic ON ic.object_id = i.object_id AND ic.index_id = i.index_id "
+                        + "JOIN sys.columns c ON c.object_id = ic.object_id AND c.column_id = ic.column_id "
+                        + "WHERE i.object_id = OBJECT_ID(?) AND i.type = 2 AND ic.key_ordinal > 0 "
+                        + "GROUP BY i.name",
+                rs -> {
+                    indexes.put(rs.getString(1), rs.getString(2));
+                }, table.qualifiedName());
+        return indexes;
+    }
+
+    @Override
+    public void dropDetached(String qualifiedTable) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + qualifiedTable);
+    }
+}
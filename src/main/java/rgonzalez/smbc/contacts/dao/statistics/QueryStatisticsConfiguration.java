@@ -0,0 +1,69 @@
+package rgonzalez.smbc.contacts.dao.statistics;
+
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Hibernate statistics and per-request query counting, enabled by
+ * contacts.jpa.statistics.enabled.
+ *
+ * Turns on Hibernate's global statistics (SessionFactory.getStatistics()),
+ * times every JDBC statement with
+ * {@link QueryStatisticsSessionListener} and counts entity loads and lazy
+ * collection fetches with event listeners appended to every entity manager
+ * factory. The counts feed {@link RequestQueryStatistics}.
+ *
+ * The entity manager factories built by JpaConfiguration apply
+ * {@link #HIBERNATE_PROPERTIES} themselves; auto-configured ones get them from
+ * the customizer below.
+ */
+@Configuration
+@ConditionalOnProperty(name = "contacts.jpa.statistics.enabled", havingValue = "true")
+public class QueryStatisticsConfiguration {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryStatisticsConfiguration.class);
+
+    /**
+     * Hibernate properties enabling statistics and statement timing
+     */
+    public static final Map<String, String> HIBERNATE_PROPERTIES = Map.of(
+            "hibernate.generate_statistics", "true",
+            "hibernate.session.events.auto", QueryStatisticsSessionListener.class.getName());
+
+    @Bean
+    public HibernatePropertiesCustomizer queryStatisticsHibernatePropertiesCustomizer() {
+        return properties -> properties.putAll(HIBERNATE_PROPERTIES);
+    }
+
+    @Bean
+    public SmartInitializingSingleton queryStatisticsEventListeners(
+            ObjectProvider<EntityManagerFactory> entityManagerFactories) {
+        return () -> {
+            List<EntityManagerFactory> factories = entityManagerFactories.orderedStream().toList();
+            for (EntityManagerFactory factory : factories) {
+                var registry = factory.unwrap(SessionFactoryImplementor.class).getEventListenerRegistry();
+                registry.appendListeners(EventType.POST_LOAD,
+                        (PostLoadEventListener) event -> RequestQueryStatistics.recordEntityLoad());
+                registry.appendListeners(EventType.INIT_COLLECTION,
+                        (InitializeCollectionEventListener) event -> RequestQueryStatistics.recordCollectionFetch());
+            }
+            RequestQueryStatistics.setEnabled(true);
+            logger.info("Query statistics enabled for {} entity manager factories", factories.size());
+        };
+    }
+}
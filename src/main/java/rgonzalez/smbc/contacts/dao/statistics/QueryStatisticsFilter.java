@@ -0,0 +1,161 @@
+package rgonzalez.smbc.contacts.dao.statistics;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Counts the database work of each HTTP request with
+ * {@link RequestQueryStatistics} (ahead of the security filters, so token
+ * authorization lookups are included) and:
+ * - adds a Server-Timing header, e.g.
+ * {@code db;dur=12.4;desc="7 statements, 10 entities, 2 collections"}, set
+ * when the response starts being written
+ * - records contacts.http.requests.db.statements, .entity-loads,
+ * .collection-fetches and .time, tagged with the request method and uri
+ * pattern like http.server.requests
+ * - logs a warning for requests executing more than
+ * contacts.jpa.statistics.statement-warn-threshold statements, the usual
+ * sign of an N+1 query
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "contacts.jpa.statistics.enabled", havingValue = "true")
+public class QueryStatisticsFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryStatisticsFilter.class);
+
+    private static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final MeterRegistry meterRegistry;
+    private final int statementWarnThreshold;
+
+    public QueryStatisticsFilter(MeterRegistry meterRegistry,
+            @Value("${contacts.jpa.statistics.statement-warn-threshold:20}") int statementWarnThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.statementWarnThreshold = statementWarnThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestQueryStatistics statistics = RequestQueryStatistics.start();
+        ServerTimingResponse timedResponse = new ServerTimingResponse(response, statistics);
+        try {
+            filterChain.doFilter(request, timedResponse);
+        } finally {
+            RequestQueryStatistics.stop(statistics);
+            timedResponse.addServerTiming();
+            record(request, statistics);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestQueryStatistics statistics) {
+        String method = request.getMethod();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        summary("contacts.http.requests.db.statements", "JDBC statements executed per request", method, uri)
+                .record(statistics.getStatements());
+        summary("contacts.http.requests.db.entity-loads", "Entities loaded per request", method, uri)
+                .record(statistics.getEntityLoads());
+        summary("contacts.http.requests.db.collection-fetches", "Lazy collections fetched per request", method, uri)
+                .record(statistics.getCollectionFetches());
+        Timer.builder("contacts.http.requests.db.time")
+                .tag("method", method)
+                .tag("uri", uri)
+                .description("Time spent executing JDBC statements per request")
+                .register(meterRegistry)
+                .record(statistics.getStatementNanos(), TimeUnit.NANOSECONDS);
+
+        if (statistics.getStatements() > statementWarnThreshold) {
+            logger.warn("{} {} executed {}, over the threshold of {} statements", method, request.getRequestURI(),
+                    statistics, statementWarnThreshold);
+        }
+    }
+
+    private DistributionSummary summary(String name, String description, String method, String uri) {
+        return DistributionSummary.builder(name)
+                .tag("method", method)
+                .tag("uri", uri)
+                .description(description)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Adds the Server-Timing header just before the response is committed, with
+     * the database work done up to then
+     */
+    private static final class ServerTimingResponse extends HttpServletResponseWrapper {
+
+        private final RequestQueryStatistics statistics;
+        private boolean timingAdded;
+
+        private ServerTimingResponse(HttpServletResponse response, RequestQueryStatistics statistics) {
+            super(response);
+            this.statistics = statistics;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addServerTiming();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addServerTiming();
+            super.sendError(sc, msg);
+        }
+
+        private void addServerTiming() {
+            if (timingAdded || isCommitted()) {
+                return;
+            }
+            timingAdded = true;
+            addHeader(SERVER_TIMING_HEADER, String.format(Locale.ROOT,
+                    "db;dur=%.1f;desc=\"%d statements, %d entities, %d collections\"",
+                    statistics.getStatementNanos() / 1_000_000.0, statistics.getStatements(),
+                    statistics.getEntityLoads(), statistics.getCollectionFetches()));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package rgonzalez.smbc.contacts.dao.statistics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Times the JDBC statements of a Hibernate session into
+ * {@link RequestQueryStatistics}. Hibernate creates one instance per session
+ * (hibernate.session.events.auto).
+ */
+public class QueryStatisticsSessionListener implements SessionEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private transient long executionStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestQueryStatistics.recordStatement(System.nanoTime() - executionStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestQueryStatistics.recordStatement(System.nanoTime() - executionStart);
+    }
+}
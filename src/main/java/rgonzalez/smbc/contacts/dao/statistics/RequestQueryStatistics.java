@@ -0,0 +1,116 @@
+package rgonzalez.smbc.contacts.dao.statistics;
+
+/**
+ * Database work done by the current thread within a scope, usually one HTTP
+ * request (see {@link QueryStatisticsFilter}): JDBC statements executed and
+ * their execution time, entities loaded and lazy collections fetched.
+ *
+ * Scopes nest; work is counted in every open scope of the thread. Nothing is
+ * counted outside a scope or unless contacts.jpa.statistics.enabled is set,
+ * which registers the Hibernate listeners feeding the counters.
+ */
+public final class RequestQueryStatistics {
+
+    private static final ThreadLocal<RequestQueryStatistics> CURRENT = new ThreadLocal<>();
+
+    private static volatile boolean enabled;
+
+    private final RequestQueryStatistics parent;
+    private int statements;
+    private long statementNanos;
+    private int entityLoads;
+    private int collectionFetches;
+
+    private RequestQueryStatistics(RequestQueryStatistics parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Opens a scope on the current thread
+     *
+     * @return the statistics of the scope, to be passed to {@link #stop}
+     */
+    public static RequestQueryStatistics start() {
+        RequestQueryStatistics statistics = new RequestQueryStatistics(CURRENT.get());
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * Closes a scope opened by {@link #start()}, restoring the enclosing one
+     *
+     * @param statistics the statistics of the scope
+     */
+    public static void stop(RequestQueryStatistics statistics) {
+        if (statistics.parent == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(statistics.parent);
+        }
+    }
+
+    /**
+     * @return whether the Hibernate listeners feeding the counters are
+     *         registered
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    static void setEnabled(boolean enabled) {
+        RequestQueryStatistics.enabled = enabled;
+    }
+
+    static void recordStatement(long nanos) {
+        for (RequestQueryStatistics scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.statements++;
+            scope.statementNanos += nanos;
+        }
+    }
+
+    static void recordEntityLoad() {
+        for (RequestQueryStatistics scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.entityLoads++;
+        }
+    }
+
+    static void recordCollectionFetch() {
+        for (RequestQueryStatistics scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.collectionFetches++;
+        }
+    }
+
+    /**
+     * @return the JDBC statements (and batches) executed
+     */
+    public int getStatements() {
+        return statements;
+    }
+
+    /**
+     * @return the time spent executing JDBC statements, in nanoseconds
+     */
+    public long getStatementNanos() {
+        return statementNanos;
+    }
+
+    /**
+     * @return the entities loaded
+     */
+    public int getEntityLoads() {
+        return entityLoads;
+    }
+
+    /**
+     * @return the lazy collections fetched
+     */
+    public int getCollectionFetches() {
+        return collectionFetches;
+    }
+
+    @Override
+    public String toString() {
+        return statements + " statements (" + statementNanos / 1_000_000 + " ms), " + entityLoads
+                + " entity loads, " + collectionFetches + " collection fetches";
+    }
+}
@@ -4,6 +4,7 @@ import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.kafka.autoconfigure.KafkaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -11,21 +12,39 @@ import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
 import org.springframework.kafka.listener.DefaultErrorHandler;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.util.backoff.FixedBackOff;
-import rgonzalez.smbc.contacts.model.SsnVerificationResult;
+import rgonzalez.smbc.contacts.events.inbound.SsnVerificationMessage;
+import rgonzalez.smbc.contacts.events.inbound.SsnVerificationMessageDeserializer;
+import rgonzalez.smbc.contacts.events.inbound.SsnVerificationRetryPolicy;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Properties;
 
 @Configuration
 @EnableKafka
 public class KafkaConsumerConfig {
     private static final Logger logger = LoggerFactory.getLogger(KafkaConsumerConfig.class);
 
+    public static final String SSN_VERIFICATION_GROUP_ID = "contacts-service";
+
+    @Value("${contacts.ssn-verification.listener.max-poll-records:500}")
+    private int batchMaxPollRecords;
+
+    @Value("${contacts.ssn-verification.listener.concurrency:" + KafkaTopicConfig.PARTITIONS + "}")
+    private int batchConcurrency;
+
+    @Value("${contacts.ssn-verification.listener.coalesce-window-ms:0}")
+    private int batchCoalesceWindowMs;
+
+    @Value("${contacts.ssn-verification.offsets.store:kafka}")
+    private String offsetStore;
+
     /**
      * Consumer Factory for SSN verification results
      * Guarantees message ordering by:
@@ -35,7 +54,7 @@ public class KafkaConsumerConfig {
      * processing
      */
     @Bean
-    public ConsumerFactory<String, SsnVerificationResult> ssnVerificationResultConsumerFactory(
+    public ConsumerFactory<String, SsnVerificationMessage> ssnVerificationResultConsumerFactory(
             KafkaProperties kafkaProperties) {
         Map<String, Object> configProps = new HashMap<>(kafkaProperties.buildConsumerProperties());
 
@@ -45,13 +64,10 @@ public class KafkaConsumerConfig {
         configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
 
         // Configure the wrapped deserializers
+        // The value deserializer is bound to the message type: type headers are
+        // ignored and no reflective binding happens per message
         configProps.put(ErrorHandlingDeserializer.KEY_DESERIALIZER_CLASS, StringDeserializer.class);
-        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
-
-        // JsonDeserializer configuration for the wrapped instance
-        configProps.put(JsonDeserializer.VALUE_DEFAULT_TYPE, "rgonzalez.smbc.contacts.model.SsnVerificationResult");
-        configProps.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
-        configProps.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, true);
+        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, SsnVerificationMessageDeserializer.class);
 
         // Consumer configuration
         configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
@@ -80,19 +96,115 @@ public class KafkaConsumerConfig {
      * Uses ErrorHandlingDeserializer to gracefully handle deserialization failures
      */
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, SsnVerificationResult> ssnVerificationKafkaListenerContainerFactory(
-            ConsumerFactory<String, SsnVerificationResult> ssnVerificationResultConsumerFactory) {
-        ConcurrentKafkaListenerContainerFactory<String, SsnVerificationResult> factory = new ConcurrentKafkaListenerContainerFactory<>();
+    public ConcurrentKafkaListenerContainerFactory<String, SsnVerificationMessage> ssnVerificationKafkaListenerContainerFactory(
+            ConsumerFactory<String, SsnVerificationMessage> ssnVerificationResultConsumerFactory,
+            SsnVerificationRetryPolicy ssnVerificationRetryPolicy,
+            KafkaTemplate<Object, Object> deadLetterKafkaTemplate) {
+        ConcurrentKafkaListenerContainerFactory<String, SsnVerificationMessage> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConcurrency(1); // Single threaded consumer for ordering
         factory.setConsumerFactory(ssnVerificationResultConsumerFactory);
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL); // Manual acknowledgment
+        configureOffsetCommits(factory);
 
-        // Add error handler with exponential backoff for processing errors
+        // Add error handler for processing errors
         // Note: This handles errors during message processing, not deserialization
         // Deserialization errors are handled by ErrorHandlingDeserializer
-        DefaultErrorHandler errorHandler = new DefaultErrorHandler(new FixedBackOff(1000, 3));
-        factory.setCommonErrorHandler(errorHandler);
+        factory.setCommonErrorHandler(ssnVerificationErrorHandler(ssnVerificationRetryPolicy, deadLetterKafkaTemplate));
+
+        return factory;
+    }
+
+    /**
+     * Kafka Listener Container Factory for SSN verification results in batch
+     * mode
+     * - One consumer thread per partition (concurrency defaults to the topic
+     * partition count); ordering within a partition is kept because a
+     * partition is only ever consumed by one thread
+     * - Polls up to max-poll-records records, delivered to the listener as one
+     * batch and acknowledged together after the batch transaction commits
+     * - A failed batch is handled by the same error handler as the record mode
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, SsnVerificationMessage> ssnVerificationBatchKafkaListenerContainerFactory(
+            ConsumerFactory<String, SsnVerificationMessage> ssnVerificationResultConsumerFactory,
+            SsnVerificationRetryPolicy ssnVerificationRetryPolicy,
+            KafkaTemplate<Object, Object> deadLetterKafkaTemplate) {
+        ConcurrentKafkaListenerContainerFactory<String, SsnVerificationMessage> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConcurrency(batchConcurrency);
+        factory.setConsumerFactory(ssnVerificationResultConsumerFactory);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        configureOffsetCommits(factory);
+
+        // Overrides the single record poll of the shared consumer factory
+        Properties consumerOverrides = new Properties();
+        consumerOverrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(batchMaxPollRecords));
+        if (batchCoalesceWindowMs > 0) {
+            // Let the broker hold a fetch for up to the window (or until 1 MB is
+            // available) so bursts for the same contact land in one batch and
+            // their status updates are coalesced
+            consumerOverrides.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, String.valueOf(batchCoalesceWindowMs));
+            consumerOverrides.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, String.valueOf(1024 * 1024));
+        }
+        factory.getContainerProperties().setKafkaConsumerProperties(consumerOverrides);
+
+        factory.setCommonErrorHandler(ssnVerificationErrorHandler(ssnVerificationRetryPolicy, deadLetterKafkaTemplate));
 
+        logger.debug("SSN verification batch listener - concurrency: {}, max-poll-records: {}, coalesce window: {} ms",
+                batchConcurrency, batchMaxPollRecords, batchCoalesceWindowMs);
         return factory;
     }
+
+    /**
+     * Kafka Listener Container Factory for the customer-ssn-verified retry
+     * topics
+     * - Record mode with manual acknowledgment, so the listener can pause a
+     * partition until the delay of its tier has elapsed
+     * - A record failing again is forwarded to the next tier, or to the
+     * dead-letter topic after the last one
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, SsnVerificationMessage> ssnVerificationRetryKafkaListenerContainerFactory(
+            ConsumerFactory<String, SsnVerificationMessage> ssnVerificationResultConsumerFactory,
+            SsnVerificationRetryPolicy ssnVerificationRetryPolicy,
+            KafkaTemplate<Object, Object> deadLetterKafkaTemplate) {
+        ConcurrentKafkaListenerContainerFactory<String, SsnVerificationMessage> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConcurrency(1);
+        factory.setConsumerFactory(ssnVerificationResultConsumerFactory);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.setCommonErrorHandler(ssnVerificationErrorHandler(ssnVerificationRetryPolicy, deadLetterKafkaTemplate));
+        return factory;
+    }
+
+    /**
+     * With offsets stored in the database the authoritative offset is committed
+     * with the data, so the Kafka commit is only kept for lag monitoring and is
+     * sent asynchronously instead of costing a round trip per batch
+     */
+    private void configureOffsetCommits(ConcurrentKafkaListenerContainerFactory<?, ?> factory) {
+        if ("database".equals(offsetStore)) {
+            factory.getContainerProperties().setSyncCommits(false);
+        }
+    }
+
+    /**
+     * Error handler shared by the SSN verification listeners
+     * - Retry topics enabled: no blocking retries, the failed record is
+     * forwarded right away to the next retry topic (or the dead-letter topic)
+     * and the partition moves on
+     * - Retry topics disabled: the failed record is retried in place 3 times,
+     * 1 second apart
+     */
+    private DefaultErrorHandler ssnVerificationErrorHandler(SsnVerificationRetryPolicy retryPolicy,
+            KafkaTemplate<Object, Object> deadLetterKafkaTemplate) {
+        if (!retryPolicy.isEnabled()) {
+            return new DefaultErrorHandler(new FixedBackOff(1000, 3));
+        }
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(deadLetterKafkaTemplate,
+                retryPolicy::nextDestination);
+        // Keep the headers of the first failure so every tier (and a replay)
+        // sees the original topic, partition and offset of the record
+        recoverer.setAppendOriginalHeaders(false);
+        return new DefaultErrorHandler(recoverer, new FixedBackOff(0, 0));
+    }
 }
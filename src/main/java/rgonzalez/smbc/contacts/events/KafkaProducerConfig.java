@@ -1,6 +1,8 @@
 package rgonzalez.smbc.contacts.events;
 
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,8 +13,13 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
-import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.support.JacksonMapperUtils;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
+import org.springframework.kafka.support.serializer.JacksonJsonSerializer;
+import rgonzalez.smbc.contacts.events.outbound.BusinessEventCompactSerializer;
 import rgonzalez.smbc.contacts.model.BusinessEvent;
+import tools.jackson.databind.cfg.DateTimeFeature;
+import tools.jackson.databind.json.JsonMapper;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -21,20 +28,44 @@ import java.util.Map;
 public class KafkaProducerConfig {
     private static final Logger logger = LoggerFactory.getLogger(KafkaProducerConfig.class);
 
+    /**
+     * Mapper of the JSON serializers. Dates are written as timestamps (e.g.
+     * [2026,1,2,3,4,5]) like the Jackson 2 JsonSerializer did, so consumers see
+     * the same documents
+     */
+    private static final JsonMapper JSON_MAPPER = JacksonMapperUtils.enhancedJsonMapper().rebuild()
+            .enable(DateTimeFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
     @Value(value = "${spring.kafka.bootstrap-servers}")
     private String bootstrapAddress;
 
+    @Value("${contacts.events.publish.format:json}")
+    private String businessEventFormat;
+
+    @Value("${contacts.events.publish.compression:lz4}")
+    private String businessEventCompression;
+
+    @Value("${contacts.events.publish.linger-ms:5}")
+    private int businessEventLingerMs;
+
     /**
      * Producer Factory for BusinessEvent with String serialization for keys and
-     * JSON for values
+     * JSON (or, with contacts.events.publish.format=compact, the raw payload plus
+     * a binary metadata header) for values
+     * - Idempotent producer: broker-side retries cannot duplicate or reorder
+     * events of a partition
+     * - Batches are compressed (lz4 by default) and may wait linger-ms to fill
      */
     @Bean
     public ProducerFactory<String, BusinessEvent> businessEventProducerFactory(KafkaProperties kafkaProperties) {
         Map<String, Object> configProps = new HashMap<>(kafkaProperties.buildProducerProperties());
-        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
         configProps.put(ProducerConfig.ACKS_CONFIG, "all");
         configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, businessEventCompression);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, businessEventLingerMs);
         // Don't include type headers for BusinessEvent since integration-api expects
         // its own type
         // String config1 = new StringBuilder()
@@ -47,7 +78,16 @@ public class KafkaProducerConfig {
 
         logger.debug("Kafka producer configProps: {}", configProps);
 
-        return new DefaultKafkaProducerFactory<>(configProps);
+        return new DefaultKafkaProducerFactory<>(configProps, new StringSerializer(), businessEventSerializer());
+    }
+
+    private Serializer<BusinessEvent> businessEventSerializer() {
+        return switch (businessEventFormat) {
+            case "json" -> new JacksonJsonSerializer<>(JSON_MAPPER);
+            case "compact" -> new BusinessEventCompactSerializer();
+            default -> throw new IllegalArgumentException(
+                    "contacts.events.publish.format must be json or compact, not " + businessEventFormat);
+        };
     }
 
     /**
@@ -60,4 +100,28 @@ public class KafkaProducerConfig {
         return new KafkaTemplate<>(businessEventProducerFactory);
     }
 
+    /**
+     * KafkaTemplate used to forward failed inbound records to retry and
+     * dead-letter topics, and to replay dead-lettered records
+     * Keys and values are serialized by type: raw bytes as-is (undeserializable
+     * or replayed records), strings as text, anything else as JSON
+     */
+    @Bean
+    public KafkaTemplate<Object, Object> deadLetterKafkaTemplate(KafkaProperties kafkaProperties) {
+        Map<String, Object> configProps = new HashMap<>(kafkaProperties.buildProducerProperties());
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
+
+        DefaultKafkaProducerFactory<Object, Object> producerFactory = new DefaultKafkaProducerFactory<>(configProps,
+                byTypeSerializer(), byTypeSerializer());
+        return new KafkaTemplate<>(producerFactory);
+    }
+
+    private static DelegatingByTypeSerializer byTypeSerializer() {
+        Map<Class<?>, Serializer<?>> delegates = new HashMap<>();
+        delegates.put(byte[].class, new ByteArraySerializer());
+        delegates.put(String.class, new StringSerializer());
+        delegates.put(Object.class, new JacksonJsonSerializer<>(JSON_MAPPER));
+        return new DelegatingByTypeSerializer(delegates, true);
+    }
 }
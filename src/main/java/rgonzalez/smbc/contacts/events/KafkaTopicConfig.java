@@ -1,10 +1,15 @@
 package rgonzalez.smbc.contacts.events;
 
 import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.core.KafkaAdmin;
+
+import java.util.ArrayList;
+import java.util.List;
 
 @Configuration
 @EnableKafka
@@ -13,6 +18,8 @@ public class KafkaTopicConfig {
     public static final String CONTACTS_TOPIC = "contacts";
     public static final String BUSINESS_EVENTS_TOPIC = "business-events";
     public static final String CUSTOMER_SSN_VERIFIED_TOPIC = "customer-ssn-verified";
+    public static final String CUSTOMER_SSN_VERIFIED_RETRY_TOPIC_PREFIX = CUSTOMER_SSN_VERIFIED_TOPIC + "-retry-";
+    public static final String CUSTOMER_SSN_VERIFIED_DLT_TOPIC = CUSTOMER_SSN_VERIFIED_TOPIC + "-dlt";
     public static final int PARTITIONS = 3;
     public static final short REPLICATION_FACTOR = 1;
 
@@ -35,4 +42,21 @@ public class KafkaTopicConfig {
     public NewTopic businessEventsTopic() {
         return new NewTopic(BUSINESS_EVENTS_TOPIC, PARTITIONS, REPLICATION_FACTOR);
     }
+
+    /**
+     * Create the customer-ssn-verified retry topics (one per configured retry
+     * delay) and its dead-letter topic, with the partitions of the main topic
+     * Only creates if kafka.auto-create-topics is enabled
+     */
+    @Bean
+    @ConditionalOnProperty(name = "kafka.auto-create-topics", havingValue = "true", matchIfMissing = false)
+    public KafkaAdmin.NewTopics ssnVerificationRetryTopics(
+            @Value("${contacts.ssn-verification.retry.delays-ms:5000,30000,300000}") List<Long> retryDelays) {
+        List<NewTopic> topics = new ArrayList<>();
+        for (int tier = 1; tier <= retryDelays.size(); tier++) {
+            topics.add(new NewTopic(CUSTOMER_SSN_VERIFIED_RETRY_TOPIC_PREFIX + tier, PARTITIONS, REPLICATION_FACTOR));
+        }
+        topics.add(new NewTopic(CUSTOMER_SSN_VERIFIED_DLT_TOPIC, PARTITIONS, REPLICATION_FACTOR));
+        return new KafkaAdmin.NewTopics(topics.toArray(NewTopic[]::new));
+    }
 }
@@ -0,0 +1,167 @@
+package rgonzalez.smbc.contacts.events.inbound;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pauses the SSN verification listeners while the primary connection pool is
+ * saturated, so inbound events wait in Kafka instead of blocking listener
+ * threads on getConnection until the poll interval is exceeded and the group
+ * rebalances.
+ *
+ * The pool is sampled every check-interval-ms. The listeners are paused when
+ * utilization (active / maximum connections) reaches pause-utilization or at
+ * least pause-waiting-threads threads wait for a connection, and resumed once
+ * utilization is back to resume-utilization, nobody waits and they have been
+ * paused for at least min-pause-ms. The gap between the two thresholds keeps
+ * the listeners from flapping. A paused container keeps polling (without
+ * returning records), so it stays in the group.
+ *
+ * Exposed as contacts.ssn-verification.backpressure.paused (1 while paused)
+ * and contacts.ssn-verification.backpressure.pauses.
+ */
+@Component
+public class ConnectionPoolBackpressure {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPoolBackpressure.class);
+
+    private static final List<String> LISTENER_IDS = List.of(SsnVerificationEventHandler.RECORD_LISTENER_ID,
+            SsnVerificationEventHandler.BATCH_LISTENER_ID, SsnVerificationRetryHandler.RETRY_LISTENER_ID);
+
+    private final DataSource dataSource;
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final boolean enabled;
+    private final double pauseUtilization;
+    private final double resumeUtilization;
+    private final int pauseWaitingThreads;
+    private final long minPauseMs;
+    private final Counter pauseCounter;
+
+    private volatile boolean paused;
+    private long pausedAt;
+    private boolean unsupportedLogged;
+
+    public ConnectionPoolBackpressure(DataSource dataSource, KafkaListenerEndpointRegistry listenerRegistry,
+            @Value("${contacts.ssn-verification.backpressure.enabled:true}") boolean enabled,
+            @Value("${contacts.ssn-verification.backpressure.pause-utilization:0.9}") double pauseUtilization,
+            @Value("${contacts.ssn-verification.backpressure.resume-utilization:0.6}") double resumeUtilization,
+            @Value("${contacts.ssn-verification.backpressure.pause-waiting-threads:1}") int pauseWaitingThreads,
+            @Value("${contacts.ssn-verification.backpressure.min-pause-ms:5000}") long minPauseMs,
+            MeterRegistry meterRegistry) {
+        if (resumeUtilization > pauseUtilization) {
+            throw new IllegalArgumentException("contacts.ssn-verification.backpressure.resume-utilization ("
+                    + resumeUtilization + ") must not exceed pause-utilization (" + pauseUtilization + ")");
+        }
+        this.dataSource = dataSource;
+        this.listenerRegistry = listenerRegistry;
+        this.enabled = enabled;
+        this.pauseUtilization = pauseUtilization;
+        this.resumeUtilization = resumeUtilization;
+        this.pauseWaitingThreads = Math.max(1, pauseWaitingThreads);
+        this.minPauseMs = minPauseMs;
+        this.pauseCounter = Counter.builder("contacts.ssn-verification.backpressure.pauses")
+                .description("Times the SSN verification listeners were paused because the connection pool was saturated")
+                .register(meterRegistry);
+        Gauge.builder("contacts.ssn-verification.backpressure.paused", this, b -> b.paused ? 1 : 0)
+                .description("1 while the SSN verification listeners are paused for connection pool backpressure")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Samples the pool and pauses or resumes the listeners
+     */
+    @Scheduled(fixedDelayString = "${contacts.ssn-verification.backpressure.check-interval-ms:1000}")
+    public synchronized void check() {
+        if (!enabled) {
+            return;
+        }
+        HikariPoolMXBean pool = pool();
+        if (pool == null) {
+            return;
+        }
+        int total = pool.getTotalConnections();
+        int maximum = Math.max(total, maximumPoolSize());
+        if (maximum <= 0) {
+            return;
+        }
+        int active = pool.getActiveConnections();
+        int waiting = pool.getThreadsAwaitingConnection();
+        double utilization = (double) active / maximum;
+
+        if (!paused && (utilization >= pauseUtilization || waiting >= pauseWaitingThreads)) {
+            setPaused(true);
+            pausedAt = System.currentTimeMillis();
+            pauseCounter.increment();
+            logger.warn("Connection pool saturated ({} of {} active, {} waiting), pausing SSN verification listeners",
+                    active, maximum, waiting);
+        } else if (paused && utilization <= resumeUtilization && waiting == 0
+                && System.currentTimeMillis() - pausedAt >= minPauseMs) {
+            setPaused(false);
+            logger.info("Connection pool recovered ({} of {} active), resuming SSN verification listeners after {} ms",
+                    active, maximum, System.currentTimeMillis() - pausedAt);
+        }
+    }
+
+    /**
+     * @return whether the listeners are currently paused by this component
+     */
+    public boolean isPaused() {
+        return paused;
+    }
+
+    private void setPaused(boolean pause) {
+        paused = pause;
+        for (String listenerId : LISTENER_IDS) {
+            MessageListenerContainer container = listenerRegistry.getListenerContainer(listenerId);
+            if (container == null || !container.isRunning()) {
+                continue;
+            }
+            if (pause) {
+                container.pause();
+            } else {
+                container.resume();
+            }
+        }
+    }
+
+    private HikariPoolMXBean pool() {
+        HikariDataSource hikari = hikari();
+        // Null until the pool has handed out its first connection
+        return hikari == null ? null : hikari.getHikariPoolMXBean();
+    }
+
+    private int maximumPoolSize() {
+        HikariDataSource hikari = hikari();
+        return hikari == null ? 0 : hikari.getMaximumPoolSize();
+    }
+
+    private HikariDataSource hikari() {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class);
+            }
+        } catch (SQLException e) {
+            // Not unwrappable, handled below
+        }
+        if (!unsupportedLogged) {
+            unsupportedLogged = true;
+            logger.info("Primary DataSource is not a Hikari pool, connection pool backpressure disabled");
+        }
+        return null;
+    }
+}
@@ -0,0 +1,119 @@
+package rgonzalez.smbc.contacts.events.inbound;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import rgonzalez.smbc.contacts.dao.ConsumerOffsetRepository;
+import rgonzalez.smbc.contacts.model.ConsumerOffset;
+
+/**
+ * Consumer offsets kept in the database for the SSN verification listeners.
+ *
+ * With contacts.ssn-verification.offsets.store=database the next offset of
+ * each partition is written in the transaction that stores the verification
+ * results, and consumers seek to it when a partition is assigned. A crash
+ * between the database commit and the Kafka commit then no longer replays the
+ * batch, and the Kafka commit becomes advisory (kept, asynchronously, for lag
+ * monitoring). With the default (kafka) nothing is stored and offsets are
+ * committed to Kafka as before.
+ */
+@Component
+public class ConsumerOffsetStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConsumerOffsetStore.class);
+    private final ConsumerOffsetRepository consumerOffsetRepository;
+    private final boolean enabled;
+
+    public ConsumerOffsetStore(ConsumerOffsetRepository consumerOffsetRepository,
+            @Value("${contacts.ssn-verification.offsets.store:kafka}") String store) {
+        if (!"kafka".equals(store) && !"database".equals(store)) {
+            throw new IllegalArgumentException("contacts.ssn-verification.offsets.store must be kafka or database, not "
+                    + store);
+        }
+        this.consumerOffsetRepository = consumerOffsetRepository;
+        this.enabled = "database".equals(store);
+        logger.info("SSN verification consumer offsets stored in: {}", store);
+    }
+
+    /**
+     * @return whether offsets are stored in the database
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param records consumed records, in partition order
+     * @return the next offset to consume of each partition of the records
+     */
+    public static Map<TopicPartition, Long> nextOffsets(List<? extends ConsumerRecord<?, ?>> records) {
+        Map<TopicPartition, Long> nextOffsets = new LinkedHashMap<>();
+        for (ConsumerRecord<?, ?> record : records) {
+            nextOffsets.merge(new TopicPartition(record.topic(), record.partition()), record.offset() + 1,
+                    Math::max);
+        }
+        return nextOffsets;
+    }
+
+    /**
+     * Stores the next offsets of a consumer group as part of the current
+     * transaction. Does nothing when offsets are kept in Kafka.
+     *
+     * @param groupId     the consumer group
+     * @param nextOffsets the next offset to consume per partition
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void store(String groupId, Map<TopicPartition, Long> nextOffsets) {
+        if (!enabled || nextOffsets.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<TopicPartition, Long> entry : nextOffsets.entrySet()) {
+            TopicPartition partition = entry.getKey();
+            int updated = consumerOffsetRepository.advance(groupId, partition.topic(), partition.partition(),
+                    entry.getValue(), now);
+            if (updated == 0 && !consumerOffsetRepository.existsByGroupIdAndTopicAndPartitionNumber(groupId,
+                    partition.topic(), partition.partition())) {
+                // First offset of the partition; a concurrent first insert fails
+                // on the unique constraint and the batch is redelivered
+                consumerOffsetRepository.save(new ConsumerOffset(groupId, partition.topic(), partition.partition(),
+                        entry.getValue(), now));
+            }
+        }
+    }
+
+    /**
+     * @param groupId    the consumer group
+     * @param partitions the assigned partitions
+     * @return the stored next offset of the partitions that have one
+     */
+    @Transactional(readOnly = true)
+    public Map<TopicPartition, Long> load(String groupId, Collection<TopicPartition> partitions) {
+        Map<String, List<Integer>> partitionsByTopic = new HashMap<>();
+        for (TopicPartition partition : partitions) {
+            partitionsByTopic.computeIfAbsent(partition.topic(), t -> new ArrayList<>()).add(partition.partition());
+        }
+        Map<TopicPartition, Long> stored = new HashMap<>();
+        partitionsByTopic.forEach((topic, numbers) -> {
+            for (ConsumerOffset offset : consumerOffsetRepository.findByGroupIdAndTopicAndPartitionNumberIn(groupId,
+                    topic, numbers)) {
+                stored.put(new TopicPartition(topic, offset.getPartitionNumber()), offset.getNextOffset());
+            }
+        });
+        return stored;
+    }
+}
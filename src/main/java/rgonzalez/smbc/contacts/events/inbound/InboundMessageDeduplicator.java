@@ -0,0 +1,112 @@
+package rgonzalez.smbc.contacts.events.inbound;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bounded set of recently processed inbound message ids.
+ *
+ * Lets redeliveries (error handler retries, rebalances) be dropped with an O(1)
+ * lookup before touching the database. Ids are only added once the transaction
+ * that stored them commits, so a rolled back batch is never treated as done.
+ * The set is a cache: the unique constraint on the stored message id remains
+ * the authority for ids evicted from it or processed by another instance.
+ */
+@Component
+public class InboundMessageDeduplicator {
+
+    private final Map<String, Boolean> recentIds;
+
+    public InboundMessageDeduplicator(
+            @Value("${contacts.ssn-verification.dedupe.cache-size:100000}") int cacheSize) {
+        this.recentIds = new LinkedHashMap<>(1024, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * @return the identity of a Kafka record, stable across redeliveries
+     */
+    public static String messageId(String topic, int partition, long offset) {
+        return topic + "-" + partition + "@" + offset;
+    }
+
+    /**
+     * Identity of a record that may have been forwarded to a retry topic or
+     * replayed from the dead-letter topic: the topic, partition and offset it
+     * was first received at (taken from the dead-letter headers when present),
+     * so every copy of a message maps to the same id
+     *
+     * @param record the received record
+     * @return the message id
+     */
+    public static String messageId(ConsumerRecord<?, ?> record) {
+        Headers headers = record.headers();
+        Header originalTopic = headers.lastHeader(KafkaHeaders.DLT_ORIGINAL_TOPIC);
+        Header originalPartition = headers.lastHeader(KafkaHeaders.DLT_ORIGINAL_PARTITION);
+        Header originalOffset = headers.lastHeader(KafkaHeaders.DLT_ORIGINAL_OFFSET);
+        if (originalTopic == null || originalPartition == null || originalOffset == null
+                || originalPartition.value().length != Integer.BYTES
+                || originalOffset.value().length != Long.BYTES) {
+            return messageId(record.topic(), record.partition(), record.offset());
+        }
+        return messageId(new String(originalTopic.value(), StandardCharsets.UTF_8),
+                ByteBuffer.wrap(originalPartition.value()).getInt(),
+                ByteBuffer.wrap(originalOffset.value()).getLong());
+    }
+
+    /**
+     * @param messageId the message id
+     * @return whether the message is known to be processed already
+     */
+    public boolean isProcessed(String messageId) {
+        synchronized (recentIds) {
+            return recentIds.containsKey(messageId);
+        }
+    }
+
+    /**
+     * Records message ids as processed, after the current transaction commits
+     * (immediately when no transaction is active)
+     *
+     * @param messageIds the processed message ids
+     */
+    public void markProcessed(Collection<String> messageIds) {
+        if (messageIds.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remember(messageIds);
+                }
+            });
+        } else {
+            remember(messageIds);
+        }
+    }
+
+    private void remember(Collection<String> messageIds) {
+        synchronized (recentIds) {
+            for (String messageId : messageIds) {
+                recentIds.put(messageId, Boolean.TRUE);
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package rgonzalez.smbc.contacts.events.inbound;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fans the records of a polled batch out to a worker pool while keeping the
+ * order of records that share a key.
+ *
+ * Records are grouped by key in batch order; each group is handed to a worker
+ * as a whole, so records of one key are handled sequentially and in offset
+ * order while different keys run concurrently. The caller waits for every
+ * group before the batch completes.
+ *
+ * The result is the index of the first record that was not handled: every
+ * record before it succeeded, so offsets up to that point may be committed
+ * (the highest contiguous completed offset). Records after it may have
+ * succeeded and will be delivered again.
+ */
+@Component
+public class KeyOrderedDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeyOrderedDispatcher.class);
+
+    private final int parallelism;
+    private final ExecutorService workers;
+
+    public KeyOrderedDispatcher(@Value("${contacts.ssn-verification.listener.parallelism:1}") int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(this.parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "key-ordered-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return whether records are dispatched to more than one worker
+     */
+    public boolean isParallel() {
+        return parallelism > 1;
+    }
+
+    /**
+     * Handles the records of a batch, in key order, on the worker pool
+     *
+     * @param records      the polled records
+     * @param groupHandler handles the records of one key, in order; throwing
+     *                     marks all of them as not handled
+     * @return the index of the first record not handled, or -1 if all records
+     *         were handled
+     */
+    public <K, V> int dispatch(List<ConsumerRecord<K, V>> records, Consumer<List<ConsumerRecord<K, V>>> groupHandler) {
+        Map<K, List<Integer>> indexesByKey = new LinkedHashMap<>();
+        for (int i = 0; i < records.size(); i++) {
+            indexesByKey.computeIfAbsent(records.get(i).key(), key -> new ArrayList<>()).add(i);
+        }
+
+        List<CompletableFuture<Integer>> groups = new ArrayList<>(indexesByKey.size());
+        for (List<Integer> indexes : indexesByKey.values()) {
+            groups.add(CompletableFuture.supplyAsync(() -> {
+                List<ConsumerRecord<K, V>> group = new ArrayList<>(indexes.size());
+                for (int index : indexes) {
+                    group.add(records.get(index));
+                }
+                try {
+                    groupHandler.accept(group);
+                    return -1;
+                } catch (RuntimeException e) {
+                    ConsumerRecord<K, V> first = group.get(0);
+                    logger.error("Failed to handle {} record(s) for key [{}] from partition [{}] at offset [{}]: {}",
+                            group.size(), first.key(), first.partition(), first.offset(), e.getMessage(), e);
+                    return indexes.get(0);
+                }
+            }, workers));
+        }
+
+        int firstFailed = groups.stream()
+                .map(CompletableFuture::join)
+                .filter(index -> index >= 0)
+                .min(Integer::compare)
+                .orElse(-1);
+        logger.debug("Dispatched {} records in {} key groups to {} workers, first failed index: {}",
+                records.size(), indexesByKey.size(), parallelism, firstFailed);
+        return firstFailed;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+            logger.warn("Key ordered workers did not finish within 30 seconds");
+            workers.shutdownNow();
+        }
+    }
+}
@@ -1,40 +1,91 @@
 package rgonzalez.smbc.contacts.events.inbound;
 
-import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.listener.ConsumerSeekAware;
 import org.springframework.kafka.support.Acknowledgment;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import rgonzalez.smbc.contacts.dao.ContactRepository;
-import rgonzalez.smbc.contacts.dao.SsnVerificationResultRepository;
+import rgonzalez.smbc.contacts.events.KafkaConsumerConfig;
 import rgonzalez.smbc.contacts.events.KafkaTopicConfig;
+import rgonzalez.smbc.contacts.jfr.SsnVerificationEvent;
 import rgonzalez.smbc.contacts.model.SsnVerificationResult;
-import rgonzalez.smbc.contacts.model.Traceable;
 
 /**
  * Kafka event handler for SSN verification results.
  * Listens to the customer-ssn-verified topic and processes verification
  * outcomes
  * from the integration-api.
+ *
+ * Two listeners exist and contacts.ssn-verification.listener.mode selects
+ * which one starts:
+ * - record: one record per poll, one transaction per record
+ * - batch: one consumer thread per partition, a poll of records applied in
+ * one transaction and acknowledged together; with a parallelism above 1 the
+ * batch is split by contact and applied by {@link KeyOrderedDispatcher}
+ *
+ * Failed records are forwarded to retry topics according to
+ * {@link SsnVerificationRetryPolicy} and consumed again by
+ * {@link SsnVerificationRetryHandler}.
+ *
+ * With contacts.ssn-verification.offsets.store=database the offsets reached
+ * are stored with the results by {@link ConsumerOffsetStore} and partitions are
+ * positioned from there on assignment.
+ *
+ * Each record (or batch) handled is a {@link SsnVerificationEvent} in JFR
+ * recordings.
  */
 @Service
-public class SsnVerificationEventHandler {
+public class SsnVerificationEventHandler implements ConsumerSeekAware {
+
+    public static final String RECORD_LISTENER_ID = "ssnVerificationRecordListener";
+    public static final String BATCH_LISTENER_ID = "ssnVerificationBatchListener";
 
     private static final Logger logger = LoggerFactory.getLogger(SsnVerificationEventHandler.class);
-    private final SsnVerificationResultRepository ssnVerificationResultRepository;
-    private final ContactRepository contactRepository;
+    private final SsnVerificationProcessor ssnVerificationProcessor;
+    private final KeyOrderedDispatcher keyOrderedDispatcher;
+    private final SsnVerificationRetryPolicy retryPolicy;
+    private final ConsumerOffsetStore consumerOffsetStore;
+
+    public SsnVerificationEventHandler(SsnVerificationProcessor ssnVerificationProcessor,
+            KeyOrderedDispatcher keyOrderedDispatcher, SsnVerificationRetryPolicy retryPolicy,
+            ConsumerOffsetStore consumerOffsetStore) {
+        this.ssnVerificationProcessor = ssnVerificationProcessor;
+        this.keyOrderedDispatcher = keyOrderedDispatcher;
+        this.retryPolicy = retryPolicy;
+        this.consumerOffsetStore = consumerOffsetStore;
+    }
 
-    public SsnVerificationEventHandler(SsnVerificationResultRepository ssnVerificationResultRepository,
-            ContactRepository contactRepository) {
-        this.ssnVerificationResultRepository = ssnVerificationResultRepository;
-        this.contactRepository = contactRepository;
+    /**
+     * When offsets are kept in the database, positions newly assigned
+     * partitions at their stored offset if it is ahead of the committed Kafka
+     * offset (the Kafka commit of the last batch may not have happened). The
+     * Kafka offset wins when it is ahead, e.g. after a failed record was
+     * forwarded to the retry topics.
+     */
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        if (!consumerOffsetStore.isEnabled() || assignments.isEmpty()) {
+            return;
+        }
+        Map<TopicPartition, Long> stored = consumerOffsetStore.load(KafkaConsumerConfig.SSN_VERIFICATION_GROUP_ID,
+                assignments.keySet());
+        stored.forEach((partition, nextOffset) -> {
+            Long position = assignments.get(partition);
+            if (position == null || nextOffset > position) {
+                logger.info("Seeking [{}] to stored offset [{}] (Kafka position [{}])", partition, nextOffset,
+                        position);
+                callback.seek(partition.topic(), partition.partition(), nextOffset);
+            }
+        });
     }
 
     /**
@@ -43,37 +94,31 @@ public class SsnVerificationEventHandler {
      * Persists verification outcomes and processes business logic based on
      * verification status
      *
-     * @param verificationResult The SsnVerificationResult from the integration-api
-     * @param contactId          The message key (contact/aggregate id)
-     * @param partition          The partition this message came from
-     * @param offset             The offset of this message
-     * @param acknowledgment     Manual acknowledgment handler
+     * @param record         The SsnVerificationMessage from the integration-api,
+     *                       keyed by contact/aggregate id
+     * @param acknowledgment Manual acknowledgment handler
      */
-    @KafkaListener(topics = KafkaTopicConfig.CUSTOMER_SSN_VERIFIED_TOPIC, containerFactory = "ssnVerificationKafkaListenerContainerFactory", groupId = "contacts-service")
-    @Transactional
-    public void handleSsnVerificationEvent(
-            @Payload SsnVerificationResult verificationResult,
-            @Header(KafkaHeaders.RECEIVED_KEY) String contactId,
-            @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-            @Header(KafkaHeaders.OFFSET) long offset,
+    @KafkaListener(id = RECORD_LISTENER_ID, topics = KafkaTopicConfig.CUSTOMER_SSN_VERIFIED_TOPIC, containerFactory = "ssnVerificationKafkaListenerContainerFactory", groupId = KafkaConsumerConfig.SSN_VERIFICATION_GROUP_ID, autoStartup = "#{'${contacts.ssn-verification.listener.mode:record}' == 'record'}")
+    public void handleSsnVerificationEvent(ConsumerRecord<String, SsnVerificationMessage> record,
             Acknowledgment acknowledgment) {
+        SsnVerificationMessage verificationMessage = record.value();
+        String contactId = record.key();
+        int partition = record.partition();
 
+        // Free unless a JFR recording enables the event
+        SsnVerificationEvent event = new SsnVerificationEvent();
+        event.begin();
+        boolean succeeded = false;
         try {
             logger.info("Processing SSN verification event from partition [{}] with offset [{}]. " +
                     "ContactId: {}, Status: {}, Matching: {}",
-                    partition, offset, contactId, verificationResult.getStatus(),
-                    verificationResult.isMatching());
-
-            // Persist the verification result to database
-            // Clear the ID to ensure it's treated as a new record
-            verificationResult.setId(null);
-            Traceable traceable = new Traceable("system", LocalDateTime.now(), "system", LocalDateTime.now());
-            verificationResult.setTraceable(traceable);
-            SsnVerificationResult persistedResult = ssnVerificationResultRepository.save(verificationResult);
-            logger.debug("SSN verification result persisted to database with id [{}]", persistedResult.getId());
+                    partition, record.offset(), contactId, verificationMessage.status(),
+                    verificationMessage.matching());
 
-            // Process the verification result
-            processVerificationResult(verificationResult);
+            SsnVerificationResult verificationResult = verificationMessage
+                    .toEntity(InboundMessageDeduplicator.messageId(record));
+            ssnVerificationProcessor.processBatch(List.of(verificationResult),
+                    ConsumerOffsetStore.nextOffsets(List.of(record)));
 
             // Manually acknowledge the message after successful processing
             if (acknowledgment != null) {
@@ -81,80 +126,175 @@ public class SsnVerificationEventHandler {
                 logger.debug("Message acknowledged for contact [{}] in partition [{}]",
                         contactId, partition);
             }
+            succeeded = true;
 
         } catch (Exception e) {
             logger.error("Error processing SSN verification event for contact [{}] from partition [{}]: {}",
                     contactId, partition, e.getMessage(), e);
-            // Do not acknowledge on error - message will be retried
+            // Do not acknowledge on error - the error handler retries the message
+            // or forwards it to the retry topics
             throw new RuntimeException("Failed to process SSN verification event", e);
+        } finally {
+            commitEvent(event, "record", record, record, 1, succeeded);
         }
     }
 
     /**
-     * Process the SSN verification result
-     * Implements business logic based on verification outcome
+     * Batch variant of {@link #handleSsnVerificationEvent}. With one container
+     * thread per partition each batch comes from a single partition; in any
+     * case the records of a partition are in offset order and are applied in
+     * that order in a single transaction. Offsets are
+     * committed only after the transaction commits; on failure nothing is
+     * acknowledged and the error handler redelivers the batch.
      *
-     * @param verificationResult The verification result to process
+     * With retry topics enabled a failed batch is applied again record by
+     * record, and the first failing record (or the first one that could not be
+     * deserialized) is reported to the error handler, which commits the records
+     * before it, forwards it to the retry topics and redelivers the rest.
+     *
+     * @param records        The polled records
+     * @param acknowledgment Manual acknowledgment handler for the whole batch
      */
-    private void processVerificationResult(SsnVerificationResult verificationResult) {
-        logger.info("Processing SSN verification result - ContactId: {}, Status: {}, Matching: {}",
-                verificationResult.getContactId(), verificationResult.getStatus(),
-                verificationResult.isMatching());
-
-        if (verificationResult.isMatching()) {
-            handleSuccessfulVerification(verificationResult);
-        } else {
-            handleFailedVerification(verificationResult);
+    @KafkaListener(id = BATCH_LISTENER_ID, topics = KafkaTopicConfig.CUSTOMER_SSN_VERIFIED_TOPIC, containerFactory = "ssnVerificationBatchKafkaListenerContainerFactory", groupId = KafkaConsumerConfig.SSN_VERIFICATION_GROUP_ID, autoStartup = "#{'${contacts.ssn-verification.listener.mode:record}' == 'batch'}")
+    public void handleSsnVerificationBatch(List<ConsumerRecord<String, SsnVerificationMessage>> records,
+            Acknowledgment acknowledgment) {
+        if (records.isEmpty()) {
+            return;
+        }
+
+        SsnVerificationEvent event = new SsnVerificationEvent();
+        event.begin();
+        boolean succeeded = false;
+        try {
+            int undeserializableIndex = retryPolicy.isEnabled() ? firstUndeserializable(records) : -1;
+            if (undeserializableIndex != 0) {
+                applyBatch(undeserializableIndex < 0 ? records : records.subList(0, undeserializableIndex));
+            }
+            if (undeserializableIndex >= 0) {
+                ConsumerRecord<String, SsnVerificationMessage> failed = records.get(undeserializableIndex);
+                throw new BatchListenerFailedException("Undeserializable SSN verification event in partition ["
+                        + failed.partition() + "] at offset [" + failed.offset() + "]", undeserializableIndex);
+            }
+
+            if (acknowledgment != null) {
+                ConsumerRecord<String, SsnVerificationMessage> last = records.get(records.size() - 1);
+                acknowledgment.acknowledge();
+                logger.debug("Batch acknowledged up to offset [{}] in partition [{}]",
+                        last.offset(), last.partition());
+            }
+            succeeded = true;
+        } finally {
+            commitEvent(event, "batch", records.get(0), records.get(records.size() - 1), records.size(),
+                    succeeded);
         }
     }
 
     /**
-     * Handle successful SSN verification
-     * Perform business logic when SSN verification succeeds
-     *
-     * @param verificationResult The successful verification result
+     * Commits the JFR event of a record or batch if a recording enables it. A
+     * batch may span partitions when the container is not split per partition;
+     * the event then reports the partition of the first record.
      */
-    private void handleSuccessfulVerification(SsnVerificationResult verificationResult) {
-        logger.info("SSN verification successful for contact [{}]",
-                verificationResult.getContactId());
-
-        // Update contact verification status
-        contactRepository.findById(Long.parseLong(verificationResult.getContactId())).ifPresent(contact -> {
-            contact.setSsnVerificationStatus("verified");
-            contactRepository.save(contact);
-            logger.info("Contact [{}] marked as verified", verificationResult.getContactId());
-        });
+    private static void commitEvent(SsnVerificationEvent event, String listener,
+            ConsumerRecord<?, ?> first, ConsumerRecord<?, ?> last, int records, boolean succeeded) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.listener = listener;
+            event.topic = first.topic();
+            event.partition = first.partition();
+            event.firstOffset = first.offset();
+            event.lastOffset = last.offset();
+            event.records = records;
+            event.succeeded = succeeded;
+            event.commit();
+        }
+    }
 
-        // TODO: Implement additional business logic for successful verification
-        // Examples:
-        // - Send notification to user
-        // - Trigger downstream processes
-        // - Update audit logs
+    private void applyBatch(List<ConsumerRecord<String, SsnVerificationMessage>> records) {
+        // Offsets stored in the database need the whole batch in one transaction
+        if (keyOrderedDispatcher.isParallel() && !consumerOffsetStore.isEnabled()) {
+            applyBatchByKey(records);
+            return;
+        }
+
+        ConsumerRecord<String, SsnVerificationMessage> first = records.get(0);
+        ConsumerRecord<String, SsnVerificationMessage> last = records.get(records.size() - 1);
+        try {
+            logger.info("Processing batch of {} SSN verification events from partition [{}], offsets [{}..{}]",
+                    records.size(), first.partition(), first.offset(), last.offset());
+
+            ssnVerificationProcessor.processBatch(deserializedValues(records), ConsumerOffsetStore.nextOffsets(records));
+        } catch (Exception e) {
+            logger.error("Error processing batch of SSN verification events from partition [{}], offsets [{}..{}]: {}",
+                    first.partition(), first.offset(), last.offset(), e.getMessage(), e);
+            if (retryPolicy.isEnabled()) {
+                applyRecordByRecord(records);
+                return;
+            }
+            // Do not acknowledge on error - the batch will be retried
+            throw new RuntimeException("Failed to process SSN verification batch", e);
+        }
     }
 
     /**
-     * Handle failed SSN verification
-     * Perform business logic when SSN verification fails
-     *
-     * @param verificationResult The failed verification result
+     * Parallel batch handling: the records of each contact are applied in order
+     * in their own transaction while different contacts run concurrently. If a
+     * contact fails, the error handler commits the offsets before the first
+     * failed record and redelivers (or forwards) from there; contacts after it
+     * that already succeeded are applied again.
      */
-    private void handleFailedVerification(SsnVerificationResult verificationResult) {
-        logger.warn("SSN verification failed for contact [{}]: Status={}, Message={}",
-                verificationResult.getContactId(),
-                verificationResult.getStatus(),
-                verificationResult.getMessage());
-
-        // Update contact verification status
-        contactRepository.findById(Long.parseLong(verificationResult.getContactId())).ifPresent(contact -> {
-            contact.setSsnVerificationStatus("failed-verification");
-            contactRepository.save(contact);
-            logger.info("Contact [{}] marked as failed verification", verificationResult.getContactId());
-        });
+    private void applyBatchByKey(List<ConsumerRecord<String, SsnVerificationMessage>> records) {
+        int failedIndex = keyOrderedDispatcher.dispatch(records,
+                group -> ssnVerificationProcessor.processBatch(deserializedValues(group)));
+
+        if (failedIndex >= 0) {
+            ConsumerRecord<String, SsnVerificationMessage> failed = records.get(failedIndex);
+            throw new BatchListenerFailedException("Failed to process SSN verification event for contact ["
+                    + failed.key() + "] in partition [" + failed.partition() + "] at offset [" + failed.offset()
+                    + "]", failedIndex);
+        }
+        logger.info("Processed batch of {} SSN verification events by contact", records.size());
+    }
 
-        // TODO: Implement additional business logic for failed verification
-        // Examples:
-        // - Flag contact for manual review
-        // - Send alert notification
-        // - Log verification failure reason
+    /**
+     * Applies the records of a failed batch one transaction each, up to the
+     * first one that fails, so only that record is forwarded to the retry
+     * topics
+     */
+    private void applyRecordByRecord(List<ConsumerRecord<String, SsnVerificationMessage>> records) {
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<String, SsnVerificationMessage> record = records.get(i);
+            try {
+                ssnVerificationProcessor.processBatch(deserializedValues(List.of(record)),
+                        ConsumerOffsetStore.nextOffsets(List.of(record)));
+            } catch (Exception e) {
+                throw new BatchListenerFailedException("Failed to process SSN verification event for contact ["
+                        + record.key() + "] in partition [" + record.partition() + "] at offset ["
+                        + record.offset() + "]", e, i);
+            }
+        }
+    }
+
+    private static int firstUndeserializable(List<ConsumerRecord<String, SsnVerificationMessage>> records) {
+        for (int i = 0; i < records.size(); i++) {
+            if (records.get(i).value() == null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private List<SsnVerificationResult> deserializedValues(
+            List<ConsumerRecord<String, SsnVerificationMessage>> records) {
+        List<SsnVerificationResult> verificationResults = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, SsnVerificationMessage> record : records) {
+            if (record.value() == null) {
+                // ErrorHandlingDeserializer hands over undeserializable records as null
+                logger.error("Skipping undeserializable SSN verification event in partition [{}] at offset [{}]",
+                        record.partition(), record.offset());
+                continue;
+            }
+            verificationResults.add(record.value().toEntity(InboundMessageDeduplicator.messageId(record)));
+        }
+        return verificationResults;
     }
 }
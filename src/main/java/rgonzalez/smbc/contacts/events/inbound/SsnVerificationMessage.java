@@ -0,0 +1,34 @@
+package rgonzalez.smbc.contacts.events.inbound;
+
+import rgonzalez.smbc.contacts.model.SsnVerificationResult;
+
+/**
+ * SSN verification outcome as published by the integration-api on
+ * customer-ssn-verified, read by {@link SsnVerificationMessageDeserializer} and
+ * turned into a {@link SsnVerificationResult} entity only when it is stored.
+ *
+ * @param contactId             the contact the SSN belongs to
+ * @param ssn                   the verified SSN
+ * @param firstName             the first name sent for verification
+ * @param lastName              the last name sent for verification
+ * @param status                the verification status reported by the
+ *                              verification source
+ * @param matching              whether the SSN matches the name
+ * @param message               the verification source message
+ * @param verificationSource    the system that verified the SSN
+ * @param verificationTimestamp when the SSN was verified (epoch millis)
+ */
+public record SsnVerificationMessage(String contactId, String ssn, String firstName, String lastName,
+        String status, boolean matching, String message, String verificationSource, Long verificationTimestamp) {
+
+    /**
+     * @param messageId the identity of the Kafka record the message came from
+     * @return a new, unsaved verification result entity
+     */
+    public SsnVerificationResult toEntity(String messageId) {
+        SsnVerificationResult verificationResult = new SsnVerificationResult(contactId, ssn, firstName, lastName,
+                status, matching, message, verificationSource, verificationTimestamp);
+        verificationResult.setMessageId(messageId);
+        return verificationResult;
+    }
+}
@@ -0,0 +1,104 @@
+package rgonzalez.smbc.contacts.events.inbound;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/**
+ * Kafka deserializer bound to {@link SsnVerificationMessage}.
+ *
+ * Parses the JSON bytes with a streaming parser straight into the message
+ * record: no type header lookup, no trusted package check and no reflective
+ * binding per message. When the record value is backed by an array it is
+ * parsed in place, without copying. Unknown fields are skipped, as with the
+ * generic JsonDeserializer it replaces; "isMatching" is accepted as an alias
+ * of "matching".
+ *
+ * Malformed values raise a SerializationException, which
+ * ErrorHandlingDeserializer turns into a deserialization failure for the
+ * listener error handler.
+ */
+public class SsnVerificationMessageDeserializer implements Deserializer<SsnVerificationMessage> {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    @Override
+    public SsnVerificationMessage deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        return parse(data, 0, data.length);
+    }
+
+    @Override
+    public SsnVerificationMessage deserialize(String topic, Headers headers, ByteBuffer data) {
+        if (data == null) {
+            return null;
+        }
+        if (data.hasArray()) {
+            return parse(data.array(), data.arrayOffset() + data.position(), data.remaining());
+        }
+        byte[] copy = new byte[data.remaining()];
+        data.duplicate().get(copy);
+        return parse(copy, 0, copy.length);
+    }
+
+    private static SsnVerificationMessage parse(byte[] data, int offset, int length) {
+        String contactId = null;
+        String ssn = null;
+        String firstName = null;
+        String lastName = null;
+        String status = null;
+        boolean matching = false;
+        String message = null;
+        String verificationSource = null;
+        Long verificationTimestamp = null;
+
+        try (JsonParser parser = JSON_FACTORY.createParser(data, offset, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new SerializationException("SSN verification message is not a JSON object");
+            }
+            String field;
+            while ((field = parser.nextFieldName()) != null) {
+                JsonToken token = parser.nextToken();
+                switch (field) {
+                    case "contactId" -> contactId = text(parser, token);
+                    case "ssn" -> ssn = text(parser, token);
+                    case "firstName" -> firstName = text(parser, token);
+                    case "lastName" -> lastName = text(parser, token);
+                    case "status" -> status = text(parser, token);
+                    case "matching", "isMatching" -> matching = token == JsonToken.VALUE_TRUE
+                            || (token == JsonToken.VALUE_STRING && Boolean.parseBoolean(parser.getText()));
+                    case "message" -> message = text(parser, token);
+                    case "verificationSource" -> verificationSource = text(parser, token);
+                    case "verificationTimestamp" -> verificationTimestamp = token == JsonToken.VALUE_NULL ? null
+                            : parser.getValueAsLong();
+                    default -> parser.skipChildren();
+                }
+            }
+            if (parser.currentToken() != JsonToken.END_OBJECT) {
+                throw new SerializationException("Truncated SSN verification message");
+            }
+        } catch (IOException e) {
+            throw new SerializationException("Malformed SSN verification message: " + e.getMessage(), e);
+        }
+        return new SsnVerificationMessage(contactId, ssn, firstName, lastName, status, matching, message,
+                verificationSource, verificationTimestamp);
+    }
+
+    private static String text(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+            throw new SerializationException("Unexpected " + token + " for field " + parser.currentName());
+        }
+        return parser.getText();
+    }
+}
@@ -0,0 +1,258 @@
+package rgonzalez.smbc.contacts.events.inbound;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import rgonzalez.smbc.contacts.dao.ContactRepository;
+import rgonzalez.smbc.contacts.dao.ContactRepositoryCustom.SsnVerificationStatusUpdate;
+import rgonzalez.smbc.contacts.events.KafkaConsumerConfig;
+import rgonzalez.smbc.contacts.dao.SsnVerificationResultRepository;
+import rgonzalez.smbc.contacts.model.SsnVerificationResult;
+import rgonzalez.smbc.contacts.model.Traceable;
+
+/**
+ * Applies SSN verification results received from the integration-api:
+ * persists each result and updates the verification status of its contact.
+ *
+ * Used by {@link SsnVerificationEventHandler} in both listener modes: one
+ * transaction per record, or one transaction per polled batch.
+ *
+ * Results are written in bulk: the history rows with one JDBC batch insert,
+ * the contact statuses with one JDBC batch update, without loading the
+ * contacts.
+ *
+ * Status updates are coalesced: when a contact appears several times in a
+ * batch (integration-api replays), every result is kept in the history but
+ * only the latest one (by verification timestamp) updates the contact. The
+ * number of updates saved is counted in
+ * contacts.ssn-verification.status.coalesced. A result older than the one that
+ * set the contact's current status, e.g. one coming back from a retry topic
+ * after newer results were applied, is kept in the history only.
+ *
+ * Processing is idempotent on the message id of each result: ids already seen
+ * by {@link InboundMessageDeduplicator}, or already stored, are dropped before
+ * any write (counted in contacts.ssn-verification.duplicates).
+ *
+ * When offsets are kept in the database ({@link ConsumerOffsetStore}) they are
+ * written in the same transaction as the results.
+ */
+@Service
+public class SsnVerificationProcessor {
+
+    static final String STATUS_VERIFIED = "verified";
+    static final String STATUS_FAILED = "failed-verification";
+    private static final String SYSTEM_USER = "system";
+    // Stays well below the bind parameter limits of the supported databases
+    // (2,100 on SQL Server), whatever max-poll-records is set to
+    private static final int DEDUPE_LOOKUP_CHUNK = 1000;
+
+    private static final Logger logger = LoggerFactory.getLogger(SsnVerificationProcessor.class);
+    private final SsnVerificationResultRepository ssnVerificationResultRepository;
+    private final ContactRepository contactRepository;
+    private final InboundMessageDeduplicator deduplicator;
+    private final ConsumerOffsetStore consumerOffsetStore;
+    private final Counter coalescedCounter;
+    private final Counter memoryDuplicateCounter;
+    private final Counter databaseDuplicateCounter;
+
+    public SsnVerificationProcessor(SsnVerificationResultRepository ssnVerificationResultRepository,
+            ContactRepository contactRepository, InboundMessageDeduplicator deduplicator,
+            ConsumerOffsetStore consumerOffsetStore, MeterRegistry meterRegistry) {
+        this.ssnVerificationResultRepository = ssnVerificationResultRepository;
+        this.contactRepository = contactRepository;
+        this.deduplicator = deduplicator;
+        this.consumerOffsetStore = consumerOffsetStore;
+        this.memoryDuplicateCounter = duplicateCounter(meterRegistry, "memory");
+        this.databaseDuplicateCounter = duplicateCounter(meterRegistry, "database");
+        this.coalescedCounter = Counter.builder("contacts.ssn-verification.status.coalesced")
+                .description("Contact status updates skipped because a later result for the same contact was in the batch")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Applies a single verification result in its own transaction
+     *
+     * @param verificationResult the verification result
+     */
+    @Transactional
+    public void process(SsnVerificationResult verificationResult) {
+        processBatch(List.of(verificationResult));
+    }
+
+    /**
+     * Applies a batch of verification results in one transaction, in order. If
+     * any result fails the whole batch is rolled back.
+     *
+     * @param verificationResults the verification results, in partition order
+     */
+    @Transactional
+    public void processBatch(List<SsnVerificationResult> verificationResults) {
+        processBatch(verificationResults, Map.of());
+    }
+
+    /**
+     * Applies a batch of verification results in one transaction, in order,
+     * and stores the consumer offsets reached by the batch in the same
+     * transaction (when offsets are kept in the database). If any result fails
+     * the whole batch, offsets included, is rolled back.
+     *
+     * @param verificationResults the verification results, in partition order
+     * @param nextOffsets         the next offset to consume per partition once
+     *                            the batch is applied
+     */
+    @Transactional
+    public void processBatch(List<SsnVerificationResult> verificationResults,
+            Map<TopicPartition, Long> nextOffsets) {
+        // Offsets move forward even when every result is a duplicate
+        consumerOffsetStore.store(KafkaConsumerConfig.SSN_VERIFICATION_GROUP_ID, nextOffsets);
+
+        verificationResults = dropDuplicates(verificationResults);
+        if (verificationResults.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        // Persist the verification results to database
+        for (SsnVerificationResult verificationResult : verificationResults) {
+            verificationResult.setId(null);
+            verificationResult.setTraceable(new Traceable(SYSTEM_USER, now, SYSTEM_USER, now));
+        }
+        int inserted = ssnVerificationResultRepository.insertAll(verificationResults);
+        deduplicator.markProcessed(verificationResults.stream().map(SsnVerificationResult::getMessageId).toList());
+        logger.debug("Persisted {} SSN verification results", inserted);
+
+        // Coalesce: only the latest result of each contact decides its status, the
+        // earlier ones are kept in the history rows only
+        Map<Long, SsnVerificationStatusUpdate> latestStatus = new LinkedHashMap<>();
+        for (SsnVerificationResult verificationResult : verificationResults) {
+            SsnVerificationStatusUpdate update = new SsnVerificationStatusUpdate(
+                    Long.parseLong(verificationResult.getContactId()), processVerificationResult(verificationResult),
+                    verificationResult.getVerificationTimestamp());
+            latestStatus.merge(update.contactId(), update,
+                    (previous, next) -> next.verificationTimestamp() < previous.verificationTimestamp() ? previous
+                            : next);
+        }
+        int coalesced = verificationResults.size() - latestStatus.size();
+        if (coalesced > 0) {
+            coalescedCounter.increment(coalesced);
+        }
+
+        // Contacts whose status was set by a newer result are left unchanged
+        int updated = contactRepository.updateSsnVerificationStatus(new ArrayList<>(latestStatus.values()),
+                SYSTEM_USER, now);
+        logger.debug("Applied batch of {} SSN verification results, {} contact status updates ({} coalesced)",
+                verificationResults.size(), updated, coalesced);
+    }
+
+    /**
+     * Removes results whose message was already processed: first against the
+     * in-memory set of recent ids, then with one lookup of the remaining ids
+     * against the stored results. Repeated ids within the batch are dropped too.
+     */
+    private List<SsnVerificationResult> dropDuplicates(List<SsnVerificationResult> verificationResults) {
+        Map<String, SsnVerificationResult> candidates = new LinkedHashMap<>();
+        for (SsnVerificationResult verificationResult : verificationResults) {
+            String messageId = verificationResult.getMessageId();
+            if (deduplicator.isProcessed(messageId) || candidates.putIfAbsent(messageId, verificationResult) != null) {
+                memoryDuplicateCounter.increment();
+                logger.info("Dropping duplicate SSN verification event [{}] for contact [{}]", messageId,
+                        verificationResult.getContactId());
+            }
+        }
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        List<String> stored = new ArrayList<>();
+        List<String> messageIds = new ArrayList<>(candidates.keySet());
+        for (int from = 0; from < messageIds.size(); from += DEDUPE_LOOKUP_CHUNK) {
+            stored.addAll(ssnVerificationResultRepository.findExistingMessageIds(
+                    messageIds.subList(from, Math.min(from + DEDUPE_LOOKUP_CHUNK, messageIds.size()))));
+        }
+        for (String messageId : stored) {
+            SsnVerificationResult duplicate = candidates.remove(messageId);
+            databaseDuplicateCounter.increment();
+            logger.info("Dropping already stored SSN verification event [{}] for contact [{}]", messageId,
+                    duplicate.getContactId());
+        }
+        deduplicator.markProcessed(stored);
+        return new ArrayList<>(candidates.values());
+    }
+
+    private static Counter duplicateCounter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("contacts.ssn-verification.duplicates")
+                .description("Redelivered SSN verification events dropped before processing")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Process the SSN verification result
+     * Implements business logic based on verification outcome
+     *
+     * @param verificationResult The verification result to process
+     * @return the verification status to set on the contact
+     */
+    private String processVerificationResult(SsnVerificationResult verificationResult) {
+        logger.debug("Processing SSN verification result - ContactId: {}, Status: {}, Matching: {}",
+                verificationResult.getContactId(), verificationResult.getStatus(),
+                verificationResult.isMatching());
+
+        if (verificationResult.isMatching()) {
+            return handleSuccessfulVerification(verificationResult);
+        } else {
+            return handleFailedVerification(verificationResult);
+        }
+    }
+
+    /**
+     * Handle successful SSN verification
+     * Perform business logic when SSN verification succeeds
+     *
+     * @param verificationResult The successful verification result
+     * @return the verification status to set on the contact
+     */
+    private String handleSuccessfulVerification(SsnVerificationResult verificationResult) {
+        logger.info("SSN verification successful for contact [{}]",
+                verificationResult.getContactId());
+
+        // TODO: Implement additional business logic for successful verification
+        // Examples:
+        // - Send notification to user
+        // - Trigger downstream processes
+        // - Update audit logs
+        return STATUS_VERIFIED;
+    }
+
+    /**
+     * Handle failed SSN verification
+     * Perform business logic when SSN verification fails
+     *
+     * @param verificationResult The failed verification result
+     * @return the verification status to set on the contact
+     */
+    private String handleFailedVerification(SsnVerificationResult verificationResult) {
+        logger.warn("SSN verification failed for contact [{}]: Status={}, Message={}",
+                verificationResult.getContactId(),
+                verificationResult.getStatus(),
+                verificationResult.getMessage());
+
+        // TODO: Implement additional business logic for failed verification
+        // Examples:
+        // - Flag contact for manual review
+        // - Send alert notification
+        // - Log verification failure reason
+        return STATUS_FAILED;
+    }
+}
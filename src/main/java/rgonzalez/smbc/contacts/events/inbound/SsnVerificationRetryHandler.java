@@ -0,0 +1,77 @@
+package rgonzalez.smbc.contacts.events.inbound;
+
+import java.time.Duration;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Service;
+
+import rgonzalez.smbc.contacts.events.KafkaConsumerConfig;
+import rgonzalez.smbc.contacts.model.SsnVerificationResult;
+
+/**
+ * Consumes the customer-ssn-verified retry topics.
+ *
+ * A record is applied once the delay of its tier has elapsed since it was
+ * forwarded; until then its partition is paused (not the consumer thread) and
+ * the record is redelivered. A record failing again is forwarded to the next
+ * tier or to the dead-letter topic by the error handler of
+ * ssnVerificationRetryKafkaListenerContainerFactory.
+ *
+ * Records are identified by the topic, partition and offset they were first
+ * received at, so a result applied by the main listener before a rollback
+ * elsewhere is never stored twice.
+ */
+@Service
+public class SsnVerificationRetryHandler {
+
+    public static final String RETRY_LISTENER_ID = "ssnVerificationRetryListener";
+
+    // Upper bound of a single pause, so a long tier delay does not hide a
+    // rebalance or shutdown for its full length
+    private static final Duration MAX_PAUSE = Duration.ofSeconds(30);
+
+    private static final Logger logger = LoggerFactory.getLogger(SsnVerificationRetryHandler.class);
+    private final SsnVerificationProcessor ssnVerificationProcessor;
+    private final SsnVerificationRetryPolicy retryPolicy;
+
+    public SsnVerificationRetryHandler(SsnVerificationProcessor ssnVerificationProcessor,
+            SsnVerificationRetryPolicy retryPolicy) {
+        this.ssnVerificationProcessor = ssnVerificationProcessor;
+        this.retryPolicy = retryPolicy;
+    }
+
+    /**
+     * Applies a record of a retry topic once its delay has elapsed
+     *
+     * @param record         The forwarded SsnVerificationMessage, keyed by
+     *                       contact/aggregate id
+     * @param acknowledgment Manual acknowledgment handler
+     */
+    @KafkaListener(id = RETRY_LISTENER_ID, topics = "#{@ssnVerificationRetryPolicy.retryTopics()}", containerFactory = "ssnVerificationRetryKafkaListenerContainerFactory", groupId = KafkaConsumerConfig.SSN_VERIFICATION_GROUP_ID, autoStartup = "${contacts.ssn-verification.retry.enabled:true}")
+    public void handleRetry(ConsumerRecord<String, SsnVerificationMessage> record, Acknowledgment acknowledgment) {
+        long dueAt = record.timestamp() + retryPolicy.delayOf(record.topic()).toMillis();
+        long remaining = dueAt - System.currentTimeMillis();
+        if (remaining > 0) {
+            Duration pause = Duration.ofMillis(remaining).compareTo(MAX_PAUSE) < 0 ? Duration.ofMillis(remaining)
+                    : MAX_PAUSE;
+            logger.debug("SSN verification retry for contact [{}] in [{}-{}] due in {} ms, pausing for {}",
+                    record.key(), record.topic(), record.partition(), remaining, pause);
+            acknowledgment.nack(pause);
+            return;
+        }
+
+        SsnVerificationResult verificationResult = record.value()
+                .toEntity(InboundMessageDeduplicator.messageId(record));
+        logger.info("Retrying SSN verification event for contact [{}] from [{}-{}] at offset [{}] as [{}]",
+                record.key(), record.topic(), record.partition(), record.offset(),
+                verificationResult.getMessageId());
+
+        // Failures propagate to the error handler, which forwards the record
+        ssnVerificationProcessor.process(verificationResult);
+        acknowledgment.acknowledge();
+    }
+}
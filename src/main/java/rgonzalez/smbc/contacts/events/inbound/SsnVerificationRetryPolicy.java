@@ -0,0 +1,137 @@
+package rgonzalez.smbc.contacts.events.inbound;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.stereotype.Component;
+
+import rgonzalez.smbc.contacts.events.KafkaTopicConfig;
+
+/**
+ * Routing of failed customer-ssn-verified records through tiered retry topics.
+ *
+ * A record that fails on the main topic is forwarded to
+ * customer-ssn-verified-retry-1, then -retry-2 and so on, one tier per entry of
+ * contacts.ssn-verification.retry.delays-ms, and finally to
+ * customer-ssn-verified-dlt. The record of tier N is consumed no earlier than
+ * the delay of tier N after it was forwarded, so the main partition keeps
+ * flowing while the failed record waits. Records that cannot be deserialized
+ * go straight to the dead-letter topic since retrying them cannot succeed.
+ *
+ * Forwarded records keep their key and are partitioned by it. Forwards are
+ * counted in contacts.ssn-verification.retry{tier} and
+ * contacts.ssn-verification.dlt{reason}.
+ */
+@Component
+public class SsnVerificationRetryPolicy {
+
+    private static final Logger logger = LoggerFactory.getLogger(SsnVerificationRetryPolicy.class);
+
+    private final boolean enabled;
+    private final List<Duration> delays;
+    private final List<String> retryTopics;
+    private final List<Counter> retryCounters;
+    private final Counter exhaustedCounter;
+    private final Counter undeserializableCounter;
+
+    public SsnVerificationRetryPolicy(
+            @Value("${contacts.ssn-verification.retry.enabled:true}") boolean enabled,
+            @Value("${contacts.ssn-verification.retry.delays-ms:5000,30000,300000}") List<Long> delaysMs,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.delays = new ArrayList<>(delaysMs.size());
+        this.retryTopics = new ArrayList<>(delaysMs.size());
+        this.retryCounters = new ArrayList<>(delaysMs.size());
+        for (int tier = 1; tier <= delaysMs.size(); tier++) {
+            this.delays.add(Duration.ofMillis(Math.max(0, delaysMs.get(tier - 1))));
+            this.retryTopics.add(KafkaTopicConfig.CUSTOMER_SSN_VERIFIED_RETRY_TOPIC_PREFIX + tier);
+            this.retryCounters.add(Counter.builder("contacts.ssn-verification.retry")
+                    .tag("tier", String.valueOf(tier))
+                    .description("SSN verification records forwarded to a retry topic")
+                    .register(meterRegistry));
+        }
+        this.exhaustedCounter = dltCounter(meterRegistry, "retries-exhausted");
+        this.undeserializableCounter = dltCounter(meterRegistry, "undeserializable");
+        logger.info("SSN verification retry topics - enabled: {}, delays: {}", enabled, this.delays);
+    }
+
+    /**
+     * @return whether failed records are forwarded to retry topics instead of
+     *         being retried in place
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the retry topic names, in tier order (referenced by the retry
+     *         listener)
+     */
+    public String[] retryTopics() {
+        return retryTopics.toArray(String[]::new);
+    }
+
+    /**
+     * @param topic a retry topic
+     * @return the delay before records of that topic are consumed, zero for
+     *         any other topic
+     */
+    public Duration delayOf(String topic) {
+        int index = retryTopics.indexOf(topic);
+        return index < 0 ? Duration.ZERO : delays.get(index);
+    }
+
+    /**
+     * Chooses where a failed record is forwarded to and counts the forward.
+     * Used as the destination resolver of the dead-letter publishing recoverer.
+     *
+     * @param record    the failed record
+     * @param exception the processing failure
+     * @return the destination, with a negative partition so the producer
+     *         partitions by key
+     */
+    public TopicPartition nextDestination(ConsumerRecord<?, ?> record, Exception exception) {
+        String destination;
+        if (isDeserializationFailure(exception)) {
+            undeserializableCounter.increment();
+            destination = KafkaTopicConfig.CUSTOMER_SSN_VERIFIED_DLT_TOPIC;
+        } else {
+            int nextIndex = retryTopics.indexOf(record.topic()) + 1;
+            if (nextIndex < retryTopics.size()) {
+                retryCounters.get(nextIndex).increment();
+                destination = retryTopics.get(nextIndex);
+            } else {
+                exhaustedCounter.increment();
+                destination = KafkaTopicConfig.CUSTOMER_SSN_VERIFIED_DLT_TOPIC;
+            }
+        }
+        logger.warn("Forwarding SSN verification record from [{}-{}] at offset [{}] to [{}]: {}",
+                record.topic(), record.partition(), record.offset(), destination, exception.getMessage());
+        return new TopicPartition(destination, -1);
+    }
+
+    private static boolean isDeserializationFailure(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DeserializationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Counter dltCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("contacts.ssn-verification.dlt")
+                .tag("reason", reason)
+                .description("SSN verification records forwarded to the dead-letter topic")
+                .register(meterRegistry);
+    }
+}
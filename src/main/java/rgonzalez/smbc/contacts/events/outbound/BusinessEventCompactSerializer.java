@@ -0,0 +1,137 @@
+package rgonzalez.smbc.contacts.events.outbound;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+import rgonzalez.smbc.contacts.model.BusinessEvent;
+
+/**
+ * Compact Kafka serializer for business events.
+ *
+ * The record value is the event payload itself (the JSON document or JSON
+ * Patch, UTF-8), instead of the payload string escaped inside a JSON rendering
+ * of the whole entity. The metadata travels in a single binary header,
+ * {@value #ENVELOPE_HEADER}:
+ * - one version byte ({@value #ENVELOPE_VERSION})
+ * - then, in this order: eventId, aggregateName, eventName, schemaVersion,
+ * payloadFormat, baseEventId, correlationId, eventDirection, createdBy; each
+ * as an unsigned varint of (UTF-8 length + 1) followed by the bytes, 0 for
+ * null
+ *
+ * The aggregate id is the record key. {@link #decodeEnvelope} reads the
+ * header back for Java consumers.
+ */
+public class BusinessEventCompactSerializer implements Serializer<BusinessEvent> {
+
+    public static final String ENVELOPE_HEADER = "business-event-envelope";
+    public static final byte ENVELOPE_VERSION = 1;
+
+    @Override
+    public byte[] serialize(String topic, BusinessEvent event) {
+        throw new SerializationException("Business events carry their metadata in headers, "
+                + "serialize(topic, headers, event) must be used");
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, BusinessEvent event) {
+        if (event == null) {
+            return null;
+        }
+        headers.remove(ENVELOPE_HEADER);
+        headers.add(ENVELOPE_HEADER, encodeEnvelope(event));
+        return event.getEventPayload() == null ? new byte[0]
+                : event.getEventPayload().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param event the business event
+     * @return the envelope header value of the event
+     */
+    static byte[] encodeEnvelope(BusinessEvent event) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        out.write(ENVELOPE_VERSION);
+        writeString(out, event.getEventId());
+        writeString(out, event.getAggregateName());
+        writeString(out, event.getEventName());
+        writeString(out, event.getSchemaVersion());
+        writeString(out, event.getPayloadFormat() == null ? null : event.getPayloadFormat().name());
+        writeString(out, event.getBaseEventId());
+        writeString(out, event.getCorrelationId());
+        writeString(out, event.getEventDirection() == null ? null : event.getEventDirection().name());
+        writeString(out, event.getTraceable() == null ? null : event.getTraceable().getCreatedBy());
+        return out.toByteArray();
+    }
+
+    /**
+     * Rebuilds a business event from a record written by this serializer
+     *
+     * @param aggregateId the record key
+     * @param envelope    the {@value #ENVELOPE_HEADER} header value
+     * @param payload     the record value
+     * @return the event (without database id or timestamps)
+     */
+    public static BusinessEvent decodeEnvelope(String aggregateId, byte[] envelope, byte[] payload) {
+        if (envelope == null || envelope.length == 0 || envelope[0] != ENVELOPE_VERSION) {
+            throw new SerializationException("Unsupported business event envelope");
+        }
+        int[] position = { 1 };
+        BusinessEvent event = new BusinessEvent();
+        event.setAggregateId(aggregateId);
+        event.setEventId(readString(envelope, position));
+        event.setAggregateName(readString(envelope, position));
+        event.setEventName(readString(envelope, position));
+        event.setSchemaVersion(readString(envelope, position));
+        String payloadFormat = readString(envelope, position);
+        event.setPayloadFormat(payloadFormat == null ? null : BusinessEvent.PayloadFormat.valueOf(payloadFormat));
+        event.setBaseEventId(readString(envelope, position));
+        event.setCorrelationId(readString(envelope, position));
+        String eventDirection = readString(envelope, position);
+        event.setEventDirection(eventDirection == null ? null : BusinessEvent.EventDirection.valueOf(eventDirection));
+        event.getTraceable().setCreatedBy(readString(envelope, position));
+        event.setEventPayload(payload == null ? null : new String(payload, StandardCharsets.UTF_8));
+        return event;
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        if (value == null) {
+            out.write(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int length = bytes.length + 1;
+        while ((length & ~0x7F) != 0) {
+            out.write((length & 0x7F) | 0x80);
+            length >>>= 7;
+        }
+        out.write(length);
+        out.writeBytes(bytes);
+    }
+
+    private static String readString(byte[] data, int[] position) {
+        int length = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (position[0] >= data.length || shift > 28) {
+                throw new SerializationException("Truncated business event envelope");
+            }
+            b = data[position[0]++];
+            length |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+
+        if (length == 0) {
+            return null;
+        }
+        int start = position[0];
+        if (start + length - 1 > data.length) {
+            throw new SerializationException("Truncated business event envelope");
+        }
+        position[0] = start + length - 1;
+        return new String(data, start, length - 1, StandardCharsets.UTF_8);
+    }
+}
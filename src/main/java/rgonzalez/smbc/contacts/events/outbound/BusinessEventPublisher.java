@@ -0,0 +1,216 @@
+package rgonzalez.smbc.contacts.events.outbound;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import rgonzalez.smbc.contacts.model.BusinessEvent;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes business events to Kafka asynchronously with a bounded number of
+ * records in flight.
+ *
+ * - A permit is taken before each send and released when the send completes,
+ * so a slow or unavailable broker applies backpressure to callers (up to
+ * acquire-timeout) instead of filling the producer buffer.
+ * - Every send is tracked to completion: latency and outcome are recorded, and
+ * a failed send is retried up to the configured attempts.
+ * - Events that cannot be sent (retries exhausted, or no permit in time) go to
+ * a bounded in-memory fallback queue that is redriven periodically. The events
+ * are already persisted in business_events, so the queue only bounds how long
+ * Kafka consumers wait; it does not survive a restart.
+ *
+ * Metrics:
+ * - contacts.events.publish.latency{topic,outcome}: send to broker ack
+ * - contacts.events.publish{outcome=success|failure|retry|fallback|dropped}
+ * - contacts.events.publish.in-flight, contacts.events.publish.fallback.size
+ */
+@Component
+public class BusinessEventPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(BusinessEventPublisher.class);
+
+    private final KafkaTemplate<String, BusinessEvent> businessEventKafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+    private final long acquireTimeoutMs;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final BlockingQueue<PendingEvent> fallbackQueue;
+
+    private final Counter successCounter;
+    private final Counter failureCounter;
+    private final Counter retryCounter;
+    private final Counter fallbackCounter;
+    private final Counter droppedCounter;
+
+    public BusinessEventPublisher(KafkaTemplate<String, BusinessEvent> businessEventKafkaTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${contacts.events.publish.max-in-flight:1000}") int maxInFlight,
+            @Value("${contacts.events.publish.acquire-timeout-ms:5000}") long acquireTimeoutMs,
+            @Value("${contacts.events.publish.max-attempts:2}") int maxAttempts,
+            @Value("${contacts.events.publish.retry-backoff-ms:1000}") long retryBackoffMs,
+            @Value("${contacts.events.publish.fallback-capacity:10000}") int fallbackCapacity) {
+        this.businessEventKafkaTemplate = businessEventKafkaTemplate;
+        this.meterRegistry = meterRegistry;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMs = retryBackoffMs;
+        this.fallbackQueue = new ArrayBlockingQueue<>(fallbackCapacity);
+
+        this.successCounter = outcomeCounter("success");
+        this.failureCounter = outcomeCounter("failure");
+        this.retryCounter = outcomeCounter("retry");
+        this.fallbackCounter = outcomeCounter("fallback");
+        this.droppedCounter = outcomeCounter("dropped");
+        Gauge.builder("contacts.events.publish.in-flight", inFlight, s -> this.maxInFlight - s.availablePermits())
+                .description("Business events sent to Kafka and not yet acknowledged")
+                .register(meterRegistry);
+        Gauge.builder("contacts.events.publish.fallback.size", fallbackQueue, BlockingQueue::size)
+                .description("Business events waiting in the fallback queue")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Sends an event without waiting for the broker acknowledgement. Blocks for
+     * at most acquire-timeout when the in-flight limit is reached.
+     *
+     * @param topic the destination topic
+     * @param key   the record key (aggregate id)
+     * @param event the event
+     */
+    public void publish(String topic, String key, BusinessEvent event) {
+        send(new PendingEvent(topic, key, event, 1), acquireTimeoutMs);
+    }
+
+    private void send(PendingEvent pending, long permitTimeoutMs) {
+        try {
+            if (!inFlight.tryAcquire(permitTimeoutMs, TimeUnit.MILLISECONDS)) {
+                logger.warn("Kafka publish backpressure - {} records in flight, event {} moved to fallback",
+                        maxInFlight, pending.event().getEventId());
+                toFallback(pending);
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            toFallback(pending);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            businessEventKafkaTemplate.send(pending.topic(), pending.key(), pending.event())
+                    .whenComplete((result, ex) -> {
+                        inFlight.release();
+                        onCompletion(pending, System.nanoTime() - start, ex);
+                    });
+        } catch (RuntimeException e) {
+            // Serialization errors and metadata timeouts are thrown by send itself
+            inFlight.release();
+            onCompletion(pending, System.nanoTime() - start, e);
+        }
+    }
+
+    private void onCompletion(PendingEvent pending, long nanos, Throwable ex) {
+        Timer.builder("contacts.events.publish.latency")
+                .description("Time from send to broker acknowledgement of business events")
+                .tag("topic", pending.topic())
+                .tag("outcome", ex == null ? "success" : "failure")
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+
+        if (ex == null) {
+            successCounter.increment();
+            logger.debug("Business event {} acknowledged on {} after {} ms", pending.event().getEventId(),
+                    pending.topic(), TimeUnit.NANOSECONDS.toMillis(nanos));
+            return;
+        }
+
+        failureCounter.increment();
+        if (pending.attempt() < maxAttempts) {
+            retryCounter.increment();
+            logger.warn("Publishing business event {} failed (attempt {}/{}), retrying: {}",
+                    pending.event().getEventId(), pending.attempt(), maxAttempts, ex.getMessage());
+            // Completion runs on the producer I/O thread, which must not block or send
+            // itself: the retry runs later on another thread and never waits for a permit
+            CompletableFuture.runAsync(() -> send(pending.nextAttempt(), 0),
+                    CompletableFuture.delayedExecutor(retryBackoffMs, TimeUnit.MILLISECONDS));
+        } else {
+            logger.error("Publishing business event {} failed after {} attempts: {}",
+                    pending.event().getEventId(), pending.attempt(), ex.getMessage());
+            toFallback(pending);
+        }
+    }
+
+    private void toFallback(PendingEvent pending) {
+        if (fallbackQueue.offer(pending)) {
+            fallbackCounter.increment();
+        } else {
+            droppedCounter.increment();
+            logger.error("Fallback queue full - business event {} for {} not published to {}",
+                    pending.event().getEventId(), pending.key(), pending.topic());
+        }
+    }
+
+    /**
+     * Republishes events from the fallback queue, stopping as soon as the
+     * in-flight limit leaves no room so the redrive never blocks new events.
+     *
+     * A pass takes at most the events queued when it starts, so it always ends
+     * even when events failing again (e.g. send throwing synchronously while
+     * the broker is down) go straight back to the queue for the next pass.
+     */
+    @Scheduled(fixedDelayString = "${contacts.events.publish.redrive-interval-ms:30000}")
+    public synchronized void redriveFallback() {
+        int queued = fallbackQueue.size();
+        int redriven = 0;
+        PendingEvent pending;
+        while (redriven < queued && inFlight.availablePermits() > 0 && (pending = fallbackQueue.poll()) != null) {
+            send(new PendingEvent(pending.topic(), pending.key(), pending.event(), 1), acquireTimeoutMs);
+            redriven++;
+        }
+        if (redriven > 0) {
+            logger.info("Redriven {} business events from the fallback queue, {} remaining", redriven,
+                    fallbackQueue.size());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        businessEventKafkaTemplate.flush();
+        if (!fallbackQueue.isEmpty()) {
+            logger.warn("{} business events in the fallback queue were not published to Kafka",
+                    fallbackQueue.size());
+        }
+    }
+
+    private Counter outcomeCounter(String outcome) {
+        return Counter.builder("contacts.events.publish")
+                .description("Business event publish outcomes")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record PendingEvent(String topic, String key, BusinessEvent event, int attempt) {
+
+        PendingEvent nextAttempt() {
+            return new PendingEvent(topic, key, event, attempt + 1);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package rgonzalez.smbc.contacts.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a method annotated with @BusinessActivity, spanning the method
+ * and the recording and publishing of its business event (see
+ * BusinessActivityRecorder).
+ */
+@Name("rgonzalez.smbc.contacts.BusinessActivity")
+@Label("Business Activity")
+@Category({ "Contacts", "Business" })
+@Description("A business activity and the business event it records")
+@StackTrace(false)
+public class BusinessActivityEvent extends Event {
+
+    @Label("Activity")
+    public String activityName;
+
+    @Label("Class")
+    public String className;
+
+    @Label("Method")
+    public String methodName;
+
+    @Label("Event Name")
+    public String eventName;
+
+    @Label("Payload Format")
+    public String payloadFormat;
+
+    @Label("Payload Size")
+    @Description("UTF-8 size of the business event payload, 0 if none was recorded")
+    @DataAmount
+    public long payloadBytes;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+
+    /**
+     * @param value a string
+     * @return the UTF-8 size of the string, without encoding it
+     */
+    public static long utf8Length(String value) {
+        long length = value.length();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x800) {
+                // Surrogate pairs count 2 + 2 for 4 bytes
+                length += Character.isSurrogate(c) ? 1 : 2;
+            } else if (c >= 0x80) {
+                length++;
+            }
+        }
+        return length;
+    }
+}
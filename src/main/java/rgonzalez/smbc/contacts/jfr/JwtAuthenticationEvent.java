@@ -0,0 +1,37 @@
+package rgonzalez.smbc.contacts.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for the authentication of a request by JwtAuthenticationFilter:
+ * token cache lookup, validation and authority lookup, excluding the rest of
+ * the filter chain.
+ */
+@Name("rgonzalez.smbc.contacts.JwtAuthentication")
+@Label("JWT Authentication")
+@Category({ "Contacts", "Security" })
+@Description("Bearer token authentication of a request")
+@StackTrace(false)
+public class JwtAuthenticationEvent extends Event {
+
+    @Label("URI")
+    public String uri;
+
+    @Label("Token Present")
+    public boolean tokenPresent;
+
+    @Label("Cache Hit")
+    @Description("The token was found in the token authentication cache")
+    public boolean cacheHit;
+
+    @Label("Authenticated")
+    public boolean authenticated;
+
+    @Label("Authorities")
+    public int authorities;
+}
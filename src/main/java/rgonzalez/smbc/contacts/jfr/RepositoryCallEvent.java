@@ -0,0 +1,28 @@
+package rgonzalez.smbc.contacts.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a Spring Data repository call (see RepositoryEventAspect)
+ */
+@Name("rgonzalez.smbc.contacts.RepositoryCall")
+@Label("Repository Call")
+@Category({ "Contacts", "Database" })
+@Description("A call to a Spring Data repository")
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Method")
+    public String methodName;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
@@ -0,0 +1,67 @@
+package rgonzalez.smbc.contacts.jfr;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+/**
+ * Emits a {@link RepositoryCallEvent} for every Spring Data repository call.
+ *
+ * Unlike the other JFR events this one needs a proxy hop on every repository
+ * call even while no recording is running, so it is only registered with
+ * contacts.jfr.repository-events.enabled. Event fields are only filled in for
+ * events that will be committed.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "contacts.jfr.repository-events.enabled", havingValue = "true")
+public class RepositoryEventAspect {
+
+    /**
+     * Repository interface simple name per repository proxy class
+     */
+    private static final ClassValue<String> REPOSITORY_NAMES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            for (Class<?> candidate : type.getInterfaces()) {
+                if (Repository.class.isAssignableFrom(candidate)) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return type.getSimpleName();
+        }
+    };
+
+    /**
+     * Around advice timing a repository call
+     *
+     * @param joinPoint the join point
+     * @return the result of the repository call
+     * @throws Throwable if the repository call fails
+     */
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object recordRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        boolean succeeded = false;
+        try {
+            Object result = joinPoint.proceed();
+            succeeded = true;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.repository = REPOSITORY_NAMES.get(joinPoint.getThis().getClass());
+                event.methodName = joinPoint.getSignature().getName();
+                event.succeeded = succeeded;
+                event.commit();
+            }
+        }
+    }
+}
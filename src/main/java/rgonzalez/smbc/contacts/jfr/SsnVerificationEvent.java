@@ -0,0 +1,43 @@
+package rgonzalez.smbc.contacts.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for the handling of SSN verification records polled from Kafka:
+ * one record with the record listener, one poll with the batch listener (see
+ * SsnVerificationEventHandler).
+ */
+@Name("rgonzalez.smbc.contacts.SsnVerification")
+@Label("SSN Verification Handling")
+@Category({ "Contacts", "Kafka" })
+@Description("Processing of SSN verification records consumed from Kafka")
+@StackTrace(false)
+public class SsnVerificationEvent extends Event {
+
+    @Label("Listener")
+    @Description("record or batch")
+    public String listener;
+
+    @Label("Topic")
+    public String topic;
+
+    @Label("Partition")
+    public int partition;
+
+    @Label("First Offset")
+    public long firstOffset;
+
+    @Label("Last Offset")
+    public long lastOffset;
+
+    @Label("Records")
+    public int records;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
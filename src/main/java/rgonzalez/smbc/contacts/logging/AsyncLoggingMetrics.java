@@ -0,0 +1,60 @@
+package rgonzalez.smbc.contacts.logging;
+
+import java.util.Iterator;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the {@link MeteredAsyncAppender}s of the root logger as
+ * contacts.logging.async.queue.size{appender},
+ * contacts.logging.async.queue.remaining{appender} and
+ * contacts.logging.async.discarded{appender, reason=threshold|queue-full}.
+ */
+@Component
+public class AsyncLoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext loggerContext)) {
+            return;
+        }
+        Logger root = loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        for (Iterator<Appender<ILoggingEvent>> appenders = root.iteratorForAppenders(); appenders.hasNext();) {
+            if (appenders.next() instanceof MeteredAsyncAppender appender) {
+                bind(registry, appender);
+            }
+        }
+    }
+
+    private static void bind(MeterRegistry registry, MeteredAsyncAppender appender) {
+        Gauge.builder("contacts.logging.async.queue.size", appender, MeteredAsyncAppender::getNumberOfElementsInQueue)
+                .tag("appender", appender.getName())
+                .description("Log events waiting in the async appender queue")
+                .register(registry);
+        Gauge.builder("contacts.logging.async.queue.remaining", appender, MeteredAsyncAppender::getRemainingCapacity)
+                .tag("appender", appender.getName())
+                .description("Free slots in the async appender queue")
+                .register(registry);
+        FunctionCounter.builder("contacts.logging.async.discarded", appender,
+                MeteredAsyncAppender::getDiscardedBelowThreshold)
+                .tag("appender", appender.getName())
+                .tag("reason", "threshold")
+                .description("Log events dropped by the async appender")
+                .register(registry);
+        FunctionCounter.builder("contacts.logging.async.discarded", appender,
+                MeteredAsyncAppender::getDiscardedQueueFull)
+                .tag("appender", appender.getName())
+                .tag("reason", "queue-full")
+                .description("Log events dropped by the async appender")
+                .register(registry);
+    }
+}
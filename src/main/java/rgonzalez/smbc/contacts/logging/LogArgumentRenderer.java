@@ -0,0 +1,152 @@
+package rgonzalez.smbc.contacts.logging;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Renders method arguments for log messages.
+ *
+ * {@link #render(Object[])} returns a placeholder argument rendered only when
+ * the message is actually formatted, i.e. when its level is enabled. Each
+ * argument is rendered as follows:
+ * - JPA entities as their class and identifier, without calling toString, so
+ * no lazy association is loaded and no entity field is logged
+ * - collections, maps and arrays as their type and size; uninitialized lazy
+ * collections are not loaded
+ * - anything else with toString, with the values of the redacted-fields (e.g.
+ * ssn='123-45-6789' or "ssn":"123-45-6789") replaced by ***, truncated to
+ * max-length characters
+ */
+@Component
+public class LogArgumentRenderer {
+
+    private static final String REDACTED = "***";
+
+    private final int maxLength;
+    private final Pattern redactedFieldPattern;
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    public LogArgumentRenderer(
+            @Value("${contacts.logging.arguments.max-length:256}") int maxLength,
+            @Value("${contacts.logging.arguments.redacted-fields:ssn,password,secret,token}") String[] redactedFields,
+            ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        this.maxLength = Math.max(16, maxLength);
+        String fields = String.join("|", Arrays.stream(redactedFields)
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .map(Pattern::quote)
+                .toList());
+        // field name, optionally quoted, then = or : and a quoted or bare value
+        this.redactedFieldPattern = fields.isEmpty() ? null
+                : Pattern.compile("(?i)(\"?\\b(?:" + fields + ")\"?\\s*[=:]\\s*)('[^']*'|\"[^\"]*\"|[^,;)}\\]\\s]*)");
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * @param args method arguments
+     * @return an object whose toString renders the arguments
+     */
+    public Object render(Object[] args) {
+        return new Rendered(args);
+    }
+
+    /**
+     * @param args method arguments
+     * @return the rendered arguments
+     */
+    public String renderNow(Object[] args) {
+        if (args == null) {
+            return "null";
+        }
+        StringBuilder rendered = new StringBuilder().append('[');
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                rendered.append(", ");
+            }
+            rendered.append(renderValue(args[i]));
+        }
+        return rendered.append(']').toString();
+    }
+
+    private String renderValue(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        Class<?> type = Hibernate.getClassLazy(value);
+        if (type.isAnnotationPresent(Entity.class)) {
+            return type.getSimpleName() + "#" + identifier(value);
+        }
+        if (value instanceof Collection<?> || value instanceof Map<?, ?>) {
+            if (!Hibernate.isInitialized(value)) {
+                return type.getSimpleName() + "[uninitialized]";
+            }
+            int size = value instanceof Collection<?> collection ? collection.size() : ((Map<?, ?>) value).size();
+            return type.getSimpleName() + "[size=" + size + "]";
+        }
+        if (type.isArray()) {
+            return type.getComponentType().getSimpleName() + "[" + Array.getLength(value) + "]";
+        }
+        return truncate(redact(String.valueOf(value)));
+    }
+
+    private Object identifier(Object entity) {
+        EntityManagerFactory factory = entityManagerFactory.getIfAvailable();
+        if (factory == null) {
+            return "?";
+        }
+        try {
+            return factory.getPersistenceUnitUtil().getIdentifier(entity);
+        } catch (RuntimeException e) {
+            return "?";
+        }
+    }
+
+    private String redact(String text) {
+        if (redactedFieldPattern == null) {
+            return text;
+        }
+        Matcher matcher = redactedFieldPattern.matcher(text);
+        if (!matcher.find()) {
+            return text;
+        }
+        StringBuilder redacted = new StringBuilder(text.length());
+        do {
+            matcher.appendReplacement(redacted, Matcher.quoteReplacement(matcher.group(1) + REDACTED));
+        } while (matcher.find());
+        matcher.appendTail(redacted);
+        return redacted.toString();
+    }
+
+    private String truncate(String text) {
+        if (text.length() <= maxLength) {
+            return text;
+        }
+        return text.substring(0, maxLength) + "...(" + text.length() + " chars)";
+    }
+
+    private final class Rendered {
+
+        private final Object[] args;
+
+        private Rendered(Object[] args) {
+            this.args = args;
+        }
+
+        @Override
+        public String toString() {
+            return renderNow(args);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package rgonzalez.smbc.contacts.logging;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides which calls the logging aspects log.
+ *
+ * contacts.logging.sampling.rates lists the share of calls logged per method
+ * or class, as comma-separated Class.method=rate or Class=rate entries (simple
+ * class names, rates between 0 and 1), e.g.
+ * ContactController.getContact=0.01,TokenController=0. Methods not listed use
+ * contacts.logging.sampling.default-rate. Failures are always logged.
+ */
+@Component
+public class LogSampler {
+
+    private final double defaultRate;
+    private final Map<String, Double> configuredRates = new ConcurrentHashMap<>();
+    private final Map<String, Double> rates = new ConcurrentHashMap<>();
+
+    public LogSampler(@Value("${contacts.logging.sampling.default-rate:1.0}") double defaultRate,
+            @Value("${contacts.logging.sampling.rates:}") String[] rates) {
+        this.defaultRate = defaultRate;
+        for (String entry : rates) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int equals = entry.indexOf('=');
+            if (equals <= 0) {
+                throw new IllegalArgumentException("contacts.logging.sampling.rates entries must be name=rate, not "
+                        + entry);
+            }
+            configuredRates.put(entry.substring(0, equals).trim(),
+                    Double.parseDouble(entry.substring(equals + 1).trim()));
+        }
+    }
+
+    /**
+     * @param className  the simple class name
+     * @param methodName the method name
+     * @return whether this call is logged
+     */
+    public boolean isSampled(String className, String methodName) {
+        double rate = rates.computeIfAbsent(className + "." + methodName, key -> configuredRates.getOrDefault(key,
+                configuredRates.getOrDefault(className, defaultRate)));
+        return rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+}
@@ -0,0 +1,54 @@
+package rgonzalez.smbc.contacts.logging;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * Logback AsyncAppender that counts the events it drops, so the drop policy
+ * can be monitored (see {@link AsyncLoggingMetrics}).
+ *
+ * Events are dropped when the queue is filled past the discarding threshold
+ * (TRACE, DEBUG and INFO only) or, with neverBlock, when it is full.
+ */
+public class MeteredAsyncAppender extends AsyncAppender {
+
+    private final LongAdder discardedBelowThreshold = new LongAdder();
+    private final LongAdder discardedQueueFull = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // Approximate: another thread may free or take the last slot meanwhile
+        if (isNeverBlock() && getRemainingCapacity() == 0
+                && !(isQueueBelowDiscardingThreshold() && super.isDiscardable(event))) {
+            discardedQueueFull.increment();
+        }
+        super.append(event);
+    }
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        // Only called once the queue is past the discarding threshold
+        boolean discardable = super.isDiscardable(event);
+        if (discardable) {
+            discardedBelowThreshold.increment();
+        }
+        return discardable;
+    }
+
+    /**
+     * @return the events dropped because the queue was past the discarding
+     *         threshold
+     */
+    public long getDiscardedBelowThreshold() {
+        return discardedBelowThreshold.sum();
+    }
+
+    /**
+     * @return the events dropped because the queue was full
+     */
+    public long getDiscardedQueueFull() {
+        return discardedQueueFull.sum();
+    }
+}
@@ -1,10 +1,14 @@
 package rgonzalez.smbc.contacts.model;
 
 import jakarta.persistence.*;
+import org.hibernate.Length;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+import rgonzalez.smbc.contacts.model.system.CompressedTextConverter;
 
 @Entity
-@Table(name = "business_events", schema = "contacts")
+@Table(name = "business_events", schema = "contacts", indexes = {
+        @Index(name = "idx_business_events_aggregate_created", columnList = "aggregateId, createdTimestamp, id"),
+        @Index(name = "idx_business_events_aggregate_event", columnList = "aggregateId, eventName, createdTimestamp, id") })
 @EntityListeners(AuditingEntityListener.class)
 public class BusinessEvent {
 
@@ -24,9 +28,17 @@ public class BusinessEvent {
     @Column(nullable = false, length = 100)
     private String eventName;
 
-    @Column(nullable = false, columnDefinition = "TEXT")
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(nullable = false, length = Length.LONG32)
     private String eventPayload;
 
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private BusinessEvent.PayloadFormat payloadFormat = PayloadFormat.FULL;
+
+    @Column(nullable = true, length = 100)
+    private String baseEventId;
+
     @Column(nullable = false, length = 500)
     private String schemaVersion;
 
@@ -107,6 +119,22 @@ public class BusinessEvent {
         this.eventPayload = eventPayload;
     }
 
+    public BusinessEvent.PayloadFormat getPayloadFormat() {
+        return payloadFormat;
+    }
+
+    public void setPayloadFormat(BusinessEvent.PayloadFormat payloadFormat) {
+        this.payloadFormat = payloadFormat != null ? payloadFormat : PayloadFormat.FULL;
+    }
+
+    public String getBaseEventId() {
+        return baseEventId;
+    }
+
+    public void setBaseEventId(String baseEventId) {
+        this.baseEventId = baseEventId;
+    }
+
     public String getSchemaVersion() {
         return schemaVersion;
     }
@@ -148,6 +176,8 @@ public class BusinessEvent {
                 ", aggregateName='" + aggregateName + '\'' +
                 ", eventName='" + eventName + '\'' +
                 ", eventPayload='" + eventPayload + '\'' +
+                ", payloadFormat='" + payloadFormat + '\'' +
+                ", baseEventId='" + baseEventId + '\'' +
                 ", schema='" + schemaVersion + '\'' +
                 ", correlationId='" + correlationId + '\'' +
                 ", eventDirection='" + eventDirection + '\'' +
@@ -169,4 +199,19 @@ public class BusinessEvent {
             return displayName;
         }
     }
+
+    public enum PayloadFormat {
+        FULL("full"),
+        JSON_PATCH("json-patch");
+
+        private final String displayName;
+
+        PayloadFormat(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
 }
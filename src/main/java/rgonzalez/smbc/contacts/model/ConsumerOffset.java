@@ -0,0 +1,112 @@
+package rgonzalez.smbc.contacts.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity for storing the next Kafka offset to consume per consumer group and
+ * partition, written in the same transaction as the data derived from the
+ * consumed records so the two can never disagree.
+ */
+@Entity
+@Table(name = "consumer_offsets", schema = "contacts", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_consumer_offsets_partition", columnNames = { "groupId", "topic",
+                "partitionNumber" }) })
+public class ConsumerOffset {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 200)
+    private String groupId;
+
+    @Column(nullable = false, length = 249)
+    private String topic;
+
+    @Column(nullable = false)
+    private int partitionNumber;
+
+    /**
+     * Offset of the next record to consume (last processed offset + 1)
+     */
+    @Column(nullable = false)
+    private long nextOffset;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedTimestamp;
+
+    // Constructors
+    public ConsumerOffset() {
+    }
+
+    public ConsumerOffset(String groupId, String topic, int partitionNumber, long nextOffset,
+            LocalDateTime updatedTimestamp) {
+        this.groupId = groupId;
+        this.topic = topic;
+        this.partitionNumber = partitionNumber;
+        this.nextOffset = nextOffset;
+        this.updatedTimestamp = updatedTimestamp;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(String groupId) {
+        this.groupId = groupId;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public void setTopic(String topic) {
+        this.topic = topic;
+    }
+
+    public int getPartitionNumber() {
+        return partitionNumber;
+    }
+
+    public void setPartitionNumber(int partitionNumber) {
+        this.partitionNumber = partitionNumber;
+    }
+
+    public long getNextOffset() {
+        return nextOffset;
+    }
+
+    public void setNextOffset(long nextOffset) {
+        this.nextOffset = nextOffset;
+    }
+
+    public LocalDateTime getUpdatedTimestamp() {
+        return updatedTimestamp;
+    }
+
+    public void setUpdatedTimestamp(LocalDateTime updatedTimestamp) {
+        this.updatedTimestamp = updatedTimestamp;
+    }
+
+    @Override
+    public String toString() {
+        return "ConsumerOffset{" +
+                "groupId='" + groupId + '\'' +
+                ", topic='" + topic + '\'' +
+                ", partitionNumber=" + partitionNumber +
+                ", nextOffset=" + nextOffset +
+                ", updatedTimestamp=" + updatedTimestamp +
+                '}';
+    }
+}
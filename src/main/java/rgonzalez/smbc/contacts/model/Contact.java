@@ -45,6 +45,10 @@ public class Contact {
     @Column(nullable = false, length = 20)
     private String ssnVerificationStatus = "not-verified";
 
+    // verificationTimestamp of the result that set ssnVerificationStatus
+    @JsonIgnore
+    private Long ssnVerificationTimestamp;
+
     @Embedded
     @JsonIgnore(false)
     private Traceable traceable = new Traceable();
@@ -109,6 +113,7 @@ public class Contact {
         this.lastName = other.lastName;
         this.middleInitial = other.middleInitial;
         this.ssnVerificationStatus = other.ssnVerificationStatus;
+        this.ssnVerificationTimestamp = other.ssnVerificationTimestamp;
         this.traceable = new Traceable(other.traceable);
         // Defensive copy of collections
         this.phones = new ArrayList<>(other.phones);
@@ -161,6 +166,14 @@ public class Contact {
         this.ssnVerificationStatus = ssnVerificationStatus;
     }
 
+    public Long getSsnVerificationTimestamp() {
+        return ssnVerificationTimestamp;
+    }
+
+    public void setSsnVerificationTimestamp(Long ssnVerificationTimestamp) {
+        this.ssnVerificationTimestamp = ssnVerificationTimestamp;
+    }
+
     public Traceable getTraceable() {
         return traceable;
     }
@@ -273,6 +286,7 @@ public class Contact {
         private String lastName;
         private String middleInitial;
         private String ssnVerificationStatus = "not-verified";
+        private Long ssnVerificationTimestamp;
         private Traceable traceable = new Traceable();
         private List<Phone> phones = new ArrayList<>();
         private List<Email> emails = new ArrayList<>();
@@ -292,6 +306,7 @@ public class Contact {
             this.lastName = contact.lastName;
             this.middleInitial = contact.middleInitial;
             this.ssnVerificationStatus = contact.ssnVerificationStatus;
+            this.ssnVerificationTimestamp = contact.ssnVerificationTimestamp;
             this.traceable = new Traceable(contact.traceable);
             this.phones = new ArrayList<>(contact.phones);
             this.emails = new ArrayList<>(contact.emails);
@@ -389,6 +404,7 @@ public class Contact {
 
             contact.id = this.id;
             contact.ssnVerificationStatus = this.ssnVerificationStatus;
+            contact.ssnVerificationTimestamp = this.ssnVerificationTimestamp;
             contact.traceable = new Traceable(this.traceable);
             contact.phones = new ArrayList<>(this.phones);
             contact.emails = new ArrayList<>(this.emails);
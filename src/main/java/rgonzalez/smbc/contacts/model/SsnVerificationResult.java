@@ -1,7 +1,9 @@
 package rgonzalez.smbc.contacts.model;
 
 import jakarta.persistence.*;
+import org.hibernate.Length;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+import rgonzalez.smbc.contacts.model.system.CompressedTextConverter;
 
 /**
  * Entity for storing SSN verification results received from the
@@ -9,7 +11,8 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
  * Persists verification outcomes for audit and tracking purposes.
  */
 @Entity
-@Table(name = "ssn_verification_results", schema = "contacts")
+@Table(name = "ssn_verification_results", schema = "contacts", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_ssn_verification_results_message", columnNames = "messageId") })
 @EntityListeners(AuditingEntityListener.class)
 public class SsnVerificationResult {
 
@@ -17,6 +20,13 @@ public class SsnVerificationResult {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    /**
+     * Identity of the Kafka record the result came from (topic-partition@offset),
+     * unique so a redelivered record can never be stored twice
+     */
+    @Column(nullable = false, length = 200)
+    private String messageId;
+
     @Column(nullable = false, length = 100)
     private String contactId;
 
@@ -35,7 +45,8 @@ public class SsnVerificationResult {
     @Column(nullable = false)
     private boolean isMatching;
 
-    @Column(nullable = false, columnDefinition = "TEXT")
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(nullable = false, length = Length.LONG32)
     private String message;
 
     @Column(nullable = false, length = 50)
@@ -75,6 +86,14 @@ public class SsnVerificationResult {
         this.id = id;
     }
 
+    public String getMessageId() {
+        return messageId;
+    }
+
+    public void setMessageId(String messageId) {
+        this.messageId = messageId;
+    }
+
     public String getContactId() {
         return contactId;
     }
@@ -159,6 +178,7 @@ public class SsnVerificationResult {
     public String toString() {
         return "SsnVerificationResult{" +
                 "id=" + id +
+                ", messageId='" + messageId + '\'' +
                 ", contactId='" + contactId + '\'' +
                 ", ssn='" + ssn + '\'' +
                 ", firstName='" + firstName + '\'' +
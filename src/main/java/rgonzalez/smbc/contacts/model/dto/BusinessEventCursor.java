@@ -0,0 +1,39 @@
+package rgonzalez.smbc.contacts.model.dto;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Position of the last event of a history page: its creation time and id,
+ * written as {@code <ISO date-time>_<id>}.
+ *
+ * @param createdTimestamp the creation time of the event
+ * @param id               the id of the event, to order events created at the
+ *                         same time
+ */
+public record BusinessEventCursor(LocalDateTime createdTimestamp, long id) {
+
+    /**
+     * @param cursor a cursor written by {@link #toString()}
+     * @return the position it denotes
+     * @throws IllegalArgumentException if the cursor is not well formed
+     */
+    public static BusinessEventCursor parse(String cursor) {
+        int separator = cursor.lastIndexOf('_');
+        try {
+            return new BusinessEventCursor(LocalDateTime.parse(cursor.substring(0, Math.max(separator, 0))),
+                    Long.parseLong(cursor.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public static BusinessEventCursor of(BusinessEventSummary event) {
+        return new BusinessEventCursor(event.getCreatedTimestamp(), event.getId());
+    }
+
+    @Override
+    public String toString() {
+        return createdTimestamp + "_" + id;
+    }
+}
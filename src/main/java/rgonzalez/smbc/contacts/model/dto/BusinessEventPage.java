@@ -0,0 +1,40 @@
+package rgonzalez.smbc.contacts.model.dto;
+
+import java.util.List;
+
+/**
+ * A page of the event history of an aggregate, newest first.
+ *
+ * Pages are keyset based: pass {@code nextCursor} as the cursor of the next
+ * request to continue after the last event of this page. It is null on the
+ * last page.
+ */
+public class BusinessEventPage {
+
+    private List<BusinessEventSummary> events;
+    private String nextCursor;
+
+    public BusinessEventPage() {
+    }
+
+    public BusinessEventPage(List<BusinessEventSummary> events, String nextCursor) {
+        this.events = events;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<BusinessEventSummary> getEvents() {
+        return events;
+    }
+
+    public void setEvents(List<BusinessEventSummary> events) {
+        this.events = events;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
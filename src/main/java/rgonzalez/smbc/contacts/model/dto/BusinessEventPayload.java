@@ -0,0 +1,61 @@
+package rgonzalez.smbc.contacts.model.dto;
+
+import rgonzalez.smbc.contacts.model.BusinessEvent;
+
+/**
+ * Payload of a single business event, fetched on demand from the event
+ * history.
+ *
+ * For {@link BusinessEvent.PayloadFormat#JSON_PATCH} payloads the patch applies
+ * to the document of the event identified by {@code baseEventId}.
+ */
+public class BusinessEventPayload {
+
+    private String eventId;
+    private BusinessEvent.PayloadFormat payloadFormat;
+    private String baseEventId;
+    private String payload;
+
+    public BusinessEventPayload() {
+    }
+
+    public BusinessEventPayload(String eventId, BusinessEvent.PayloadFormat payloadFormat, String baseEventId,
+            String payload) {
+        this.eventId = eventId;
+        this.payloadFormat = payloadFormat;
+        this.baseEventId = baseEventId;
+        this.payload = payload;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public BusinessEvent.PayloadFormat getPayloadFormat() {
+        return payloadFormat;
+    }
+
+    public void setPayloadFormat(BusinessEvent.PayloadFormat payloadFormat) {
+        this.payloadFormat = payloadFormat;
+    }
+
+    public String getBaseEventId() {
+        return baseEventId;
+    }
+
+    public void setBaseEventId(String baseEventId) {
+        this.baseEventId = baseEventId;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+}
@@ -0,0 +1,143 @@
+package rgonzalez.smbc.contacts.model.dto;
+
+import rgonzalez.smbc.contacts.model.BusinessEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Business event metadata without its payload. Built directly by the event
+ * history query (JPQL constructor expression) so the payload column is never
+ * read; the payload is fetched separately with {@link BusinessEventPayload}.
+ */
+public class BusinessEventSummary {
+
+    private Long id;
+    private String eventId;
+    private String aggregateId;
+    private String aggregateName;
+    private String eventName;
+    private BusinessEvent.PayloadFormat payloadFormat;
+    private String baseEventId;
+    private String schemaVersion;
+    private String correlationId;
+    private BusinessEvent.EventDirection eventDirection;
+    private String createdBy;
+    private LocalDateTime createdTimestamp;
+
+    public BusinessEventSummary() {
+    }
+
+    public BusinessEventSummary(Long id, String eventId, String aggregateId, String aggregateName, String eventName,
+            BusinessEvent.PayloadFormat payloadFormat, String baseEventId, String schemaVersion,
+            String correlationId, BusinessEvent.EventDirection eventDirection, String createdBy,
+            LocalDateTime createdTimestamp) {
+        this.id = id;
+        this.eventId = eventId;
+        this.aggregateId = aggregateId;
+        this.aggregateName = aggregateName;
+        this.eventName = eventName;
+        this.payloadFormat = payloadFormat;
+        this.baseEventId = baseEventId;
+        this.schemaVersion = schemaVersion;
+        this.correlationId = correlationId;
+        this.eventDirection = eventDirection;
+        this.createdBy = createdBy;
+        this.createdTimestamp = createdTimestamp;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getAggregateId() {
+        return aggregateId;
+    }
+
+    public void setAggregateId(String aggregateId) {
+        this.aggregateId = aggregateId;
+    }
+
+    public String getAggregateName() {
+        return aggregateName;
+    }
+
+    public void setAggregateName(String aggregateName) {
+        this.aggregateName = aggregateName;
+    }
+
+    public String getEventName() {
+        return eventName;
+    }
+
+    public void setEventName(String eventName) {
+        this.eventName = eventName;
+    }
+
+    public BusinessEvent.PayloadFormat getPayloadFormat() {
+        return payloadFormat;
+    }
+
+    public void setPayloadFormat(BusinessEvent.PayloadFormat payloadFormat) {
+        this.payloadFormat = payloadFormat;
+    }
+
+    public String getBaseEventId() {
+        return baseEventId;
+    }
+
+    public void setBaseEventId(String baseEventId) {
+        this.baseEventId = baseEventId;
+    }
+
+    public String getSchemaVersion() {
+        return schemaVersion;
+    }
+
+    public void setSchemaVersion(String schemaVersion) {
+        this.schemaVersion = schemaVersion;
+    }
+
+    public String getCorrelationId() {
+        return correlationId;
+    }
+
+    public void setCorrelationId(String correlationId) {
+        this.correlationId = correlationId;
+    }
+
+    public BusinessEvent.EventDirection getEventDirection() {
+        return eventDirection;
+    }
+
+    public void setEventDirection(BusinessEvent.EventDirection eventDirection) {
+        this.eventDirection = eventDirection;
+    }
+
+    public String getCreatedBy() {
+        return createdBy;
+    }
+
+    public void setCreatedBy(String createdBy) {
+        this.createdBy = createdBy;
+    }
+
+    public LocalDateTime getCreatedTimestamp() {
+        return createdTimestamp;
+    }
+
+    public void setCreatedTimestamp(LocalDateTime createdTimestamp) {
+        this.createdTimestamp = createdTimestamp;
+    }
+}
@@ -0,0 +1,44 @@
+package rgonzalez.smbc.contacts.model.dto;
+
+/**
+ * Outcome of replaying dead-lettered records to the topic they came from.
+ */
+public class DeadLetterReplayResult {
+
+    private String deadLetterTopic;
+    private String targetTopic;
+    private int replayed;
+
+    public DeadLetterReplayResult() {
+    }
+
+    public DeadLetterReplayResult(String deadLetterTopic, String targetTopic, int replayed) {
+        this.deadLetterTopic = deadLetterTopic;
+        this.targetTopic = targetTopic;
+        this.replayed = replayed;
+    }
+
+    public String getDeadLetterTopic() {
+        return deadLetterTopic;
+    }
+
+    public void setDeadLetterTopic(String deadLetterTopic) {
+        this.deadLetterTopic = deadLetterTopic;
+    }
+
+    public String getTargetTopic() {
+        return targetTopic;
+    }
+
+    public void setTargetTopic(String targetTopic) {
+        this.targetTopic = targetTopic;
+    }
+
+    public int getReplayed() {
+        return replayed;
+    }
+
+    public void setReplayed(int replayed) {
+        this.replayed = replayed;
+    }
+}
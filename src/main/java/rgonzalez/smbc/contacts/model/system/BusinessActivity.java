@@ -17,4 +17,6 @@ public @interface BusinessActivity {
     boolean isOnlyAnInquiry() default true;
 
     boolean isAuditable() default true;
+
+    EventPayloadMode payloadMode() default EventPayloadMode.FULL;
 }
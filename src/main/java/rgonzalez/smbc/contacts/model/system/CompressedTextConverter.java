@@ -0,0 +1,186 @@
+package rgonzalez.smbc.contacts.model.system;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * JPA attribute converter that stores large text attributes (JSON payloads,
+ * verification messages) as a binary column, Deflate-compressed when it pays
+ * off.
+ *
+ * Stored format: a one byte marker followed by the body.
+ * - {@link #FORMAT_RAW}: body is the UTF-8 text as-is (small or incompressible
+ * values, or compression disabled)
+ * - {@link #FORMAT_DEFLATE}: body is the raw Deflate stream of the UTF-8 text
+ *
+ * Values without a known marker are read as plain UTF-8 so rows written before
+ * compression was introduced (TEXT copied into the binary column) remain
+ * readable.
+ *
+ * The converter is instantiated by Hibernate, so its settings are static and
+ * applied at startup by {@code PayloadCompressionConfiguration}.
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, byte[]> {
+
+    public static final byte FORMAT_RAW = 0x01;
+    public static final byte FORMAT_DEFLATE = 0x02;
+
+    private static volatile boolean enabled = true;
+    private static volatile int minSizeBytes = 256;
+    private static volatile int compressionLevel = Deflater.DEFAULT_COMPRESSION;
+
+    private static final ThreadLocal<Deflater> DEFLATER = ThreadLocal
+            .withInitial(() -> new Deflater(Deflater.DEFAULT_COMPRESSION, true));
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(() -> new Inflater(true));
+
+    // Running totals used to measure storage savings and encode/decode cost
+    private static final LongAdder rawBytes = new LongAdder();
+    private static final LongAdder storedBytes = new LongAdder();
+    private static final LongAdder encodeCount = new LongAdder();
+    private static final LongAdder encodeNanos = new LongAdder();
+    private static final LongAdder decodeCount = new LongAdder();
+    private static final LongAdder decodeNanos = new LongAdder();
+
+    /**
+     * Applies the compression settings used for subsequent writes. Reads always
+     * honor the stored marker regardless of these settings.
+     *
+     * @param compressionEnabled whether values are compressed at all
+     * @param minSize            values smaller than this (in UTF-8 bytes) are
+     *                           stored raw
+     * @param level              Deflate compression level (0-9, or -1 for the
+     *                           default)
+     */
+    public static void configure(boolean compressionEnabled, int minSize, int level) {
+        enabled = compressionEnabled;
+        minSizeBytes = Math.max(0, minSize);
+        compressionLevel = level;
+    }
+
+    @Override
+    public byte[] convertToDatabaseColumn(String attribute) {
+        if (attribute == null) {
+            return null;
+        }
+        long start = System.nanoTime();
+        byte[] text = attribute.getBytes(StandardCharsets.UTF_8);
+        byte[] stored = null;
+
+        if (enabled && text.length >= minSizeBytes) {
+            stored = deflate(text);
+        }
+        if (stored == null) {
+            stored = new byte[text.length + 1];
+            stored[0] = FORMAT_RAW;
+            System.arraycopy(text, 0, stored, 1, text.length);
+        }
+
+        rawBytes.add(text.length);
+        storedBytes.add(stored.length);
+        encodeCount.increment();
+        encodeNanos.add(System.nanoTime() - start);
+        return stored;
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] dbData) {
+        if (dbData == null) {
+            return null;
+        }
+        long start = System.nanoTime();
+        String value;
+        if (dbData.length == 0) {
+            value = "";
+        } else if (dbData[0] == FORMAT_DEFLATE) {
+            value = new String(inflate(dbData), StandardCharsets.UTF_8);
+        } else if (dbData[0] == FORMAT_RAW) {
+            value = new String(dbData, 1, dbData.length - 1, StandardCharsets.UTF_8);
+        } else {
+            // Legacy row written before the format marker existed
+            value = new String(dbData, StandardCharsets.UTF_8);
+        }
+        decodeCount.increment();
+        decodeNanos.add(System.nanoTime() - start);
+        return value;
+    }
+
+    /**
+     * Compresses the given text, returning null when the compressed form (plus
+     * marker) would not be smaller than the raw form.
+     */
+    private byte[] deflate(byte[] text) {
+        Deflater deflater = DEFLATER.get();
+        deflater.reset();
+        deflater.setLevel(compressionLevel);
+        deflater.setInput(text);
+        deflater.finish();
+
+        byte[] buffer = new byte[text.length + 1];
+        buffer[0] = FORMAT_DEFLATE;
+        int length = 1;
+        while (!deflater.finished()) {
+            if (length == buffer.length) {
+                // Not worth it: compressed output is at least as large as the input
+                return null;
+            }
+            length += deflater.deflate(buffer, length, buffer.length - length);
+        }
+        return length < buffer.length ? Arrays.copyOf(buffer, length) : null;
+    }
+
+    private byte[] inflate(byte[] dbData) {
+        Inflater inflater = INFLATER.get();
+        inflater.reset();
+        inflater.setInput(dbData, 1, dbData.length - 1);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(dbData.length * 4);
+        byte[] chunk = new byte[8192];
+        try {
+            while (!inflater.finished()) {
+                int read = inflater.inflate(chunk);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated compressed column value");
+                }
+                out.write(chunk, 0, read);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt compressed column value", e);
+        }
+        return out.toByteArray();
+    }
+
+    // Measurement accessors
+
+    public static long getRawBytes() {
+        return rawBytes.sum();
+    }
+
+    public static long getStoredBytes() {
+        return storedBytes.sum();
+    }
+
+    public static long getEncodeCount() {
+        return encodeCount.sum();
+    }
+
+    public static long getEncodeNanos() {
+        return encodeNanos.sum();
+    }
+
+    public static long getDecodeCount() {
+        return decodeCount.sum();
+    }
+
+    public static long getDecodeNanos() {
+        return decodeNanos.sum();
+    }
+}
@@ -0,0 +1,17 @@
+package rgonzalez.smbc.contacts.model.system;
+
+/**
+ * How the payload of a business event is encoded when it is recorded.
+ */
+public enum EventPayloadMode {
+    /**
+     * Full JSON document of the aggregate on every event
+     */
+    FULL,
+
+    /**
+     * RFC 6902 JSON Patch against the previous version of the aggregate, with a
+     * periodic full snapshot so consumers can resync
+     */
+    DELTA
+}
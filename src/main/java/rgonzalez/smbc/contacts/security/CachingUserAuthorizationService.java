@@ -0,0 +1,288 @@
+package rgonzalez.smbc.contacts.security;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * Caching decorator of a UserAuthorizationService, applied to the service
+ * bean by {@link UserAuthorizationCacheConfig}.
+ *
+ * The authorities of a user are kept for ttl-seconds after they were loaded.
+ * An entry read in its last refresh-ahead-seconds is reloaded in the
+ * background while the current authorities keep being served, so a user
+ * active across the expiry never waits on a reload. Concurrent misses for the
+ * same user share a single load. A failed load is not cached: the callers
+ * waiting on it get the failure and the next call loads again.
+ *
+ * {@link #invalidate(String)} and {@link #invalidateAll()} drop cached
+ * authorities after they changed at the source, and clear the
+ * {@link TokenAuthenticationCache} that holds them per token. A load in
+ * progress at that time completes for its waiting callers only: it is neither
+ * stored here nor, thanks to the token cache generation, per token.
+ *
+ * Beyond max-size, the completed entries loaded the longest ago are evicted
+ * down to 90% of max-size, so the cache is scanned once every max-size / 10
+ * misses rather than on every miss once full.
+ *
+ * Exposed as contacts.security.authority-cache{result=hit|miss},
+ * contacts.security.authority-cache.refreshes{result=success|failure} and
+ * contacts.security.authority-cache.size.
+ */
+public class CachingUserAuthorizationService implements UserAuthorizationService, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingUserAuthorizationService.class);
+
+    private final UserAuthorizationService delegate;
+    private final long ttlMillis;
+    private final long refreshAheadMillis;
+    private final int maxSize;
+    private final int trimmedSize;
+    private final Runnable onInvalidate;
+    private final Map<Key, CompletableFuture<Loaded>> entries = new ConcurrentHashMap<>();
+    private final Set<Key> refreshing = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final ExecutorService refresher;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter refreshSuccessCounter;
+    private final Counter refreshFailureCounter;
+
+    /**
+     * @param delegate              the service loading the authorities
+     * @param ttlSeconds            how long loaded authorities are used
+     * @param refreshAheadSeconds   how long before expiry a read triggers a
+     *                              background reload
+     * @param maxSize               maximum number of cached users
+     * @param refreshThreads        threads reloading authorities in the
+     *                              background
+     * @param onInvalidate          called after cached authorities were
+     *                              invalidated
+     * @param meterRegistry         the meter registry
+     */
+    public CachingUserAuthorizationService(UserAuthorizationService delegate, long ttlSeconds,
+            long refreshAheadSeconds, int maxSize, int refreshThreads, Runnable onInvalidate,
+            MeterRegistry meterRegistry) {
+        if (refreshAheadSeconds >= ttlSeconds) {
+            throw new IllegalArgumentException("contacts.security.authority-cache.refresh-ahead-seconds ("
+                    + refreshAheadSeconds + ") must be lower than ttl-seconds (" + ttlSeconds + ")");
+        }
+        this.delegate = delegate;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.refreshAheadMillis = Math.max(0, refreshAheadSeconds) * 1000;
+        this.maxSize = Math.max(1, maxSize);
+        this.trimmedSize = this.maxSize - Math.max(1, this.maxSize / 10);
+        this.onInvalidate = onInvalidate;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.refresher = Executors.newFixedThreadPool(Math.max(1, refreshThreads), runnable -> {
+            Thread thread = new Thread(runnable, "authority-cache-refresh-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.hitCounter = lookupCounter(meterRegistry, "hit");
+        this.missCounter = lookupCounter(meterRegistry, "miss");
+        this.refreshSuccessCounter = refreshCounter(meterRegistry, "success");
+        this.refreshFailureCounter = refreshCounter(meterRegistry, "failure");
+        Gauge.builder("contacts.security.authority-cache.size", entries, Map::size)
+                .description("Users whose authorities are currently cached")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<GrantedAuthority> getAuthoritiesForUser(String userId) {
+        return get(new Key(null, userId));
+    }
+
+    @Override
+    public List<GrantedAuthority> getAuthoritiesForUser(String networkId, String userId) {
+        return get(new Key(networkId, userId));
+    }
+
+    @Override
+    public void invalidate(String userId) {
+        entries.keySet().removeIf(key -> Objects.equals(key.userId(), userId));
+        delegate.invalidate(userId);
+        onInvalidate.run();
+        logger.info("Cached authorities of user [{}] invalidated", userId);
+    }
+
+    @Override
+    public void invalidateAll() {
+        entries.clear();
+        delegate.invalidateAll();
+        onInvalidate.run();
+        logger.info("All cached authorities invalidated");
+    }
+
+    @Override
+    public void destroy() {
+        refresher.shutdownNow();
+    }
+
+    private List<GrantedAuthority> get(Key key) {
+        while (true) {
+            CompletableFuture<Loaded> cached = entries.get(key);
+            if (cached == null) {
+                CompletableFuture<Loaded> loading = new CompletableFuture<>();
+                if (entries.putIfAbsent(key, loading) == null) {
+                    missCounter.increment();
+                    evictIfFull();
+                    return load(key, loading);
+                }
+                continue;
+            }
+
+            if (!cached.isDone()) {
+                // Single flight: wait for the load in progress
+                missCounter.increment();
+                return join(cached);
+            }
+
+            Loaded loaded = cached.isCompletedExceptionally() ? null : cached.join();
+            long age = loaded == null ? Long.MAX_VALUE : System.currentTimeMillis() - loaded.loadedAt();
+            if (age >= ttlMillis) {
+                // Expired (or failed): replace it, unless another thread already did
+                CompletableFuture<Loaded> loading = new CompletableFuture<>();
+                if (entries.replace(key, cached, loading)) {
+                    missCounter.increment();
+                    return load(key, loading);
+                }
+                continue;
+            }
+
+            hitCounter.increment();
+            if (age >= ttlMillis - refreshAheadMillis) {
+                refreshAhead(key, cached);
+            }
+            return loaded.authorities();
+        }
+    }
+
+    /**
+     * Loads the authorities of a user on the calling thread and completes the
+     * future other callers wait on
+     */
+    private List<GrantedAuthority> load(Key key, CompletableFuture<Loaded> loading) {
+        try {
+            Loaded loaded = new Loaded(List.copyOf(loadFromDelegate(key)), System.currentTimeMillis());
+            loading.complete(loaded);
+            return loaded.authorities();
+        } catch (RuntimeException | Error e) {
+            entries.remove(key, loading);
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Reloads the authorities of a user in the background, at most once at a
+     * time per user; the current authorities are served meanwhile
+     */
+    private void refreshAhead(Key key, CompletableFuture<Loaded> current) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            refresher.execute(() -> {
+                try {
+                    Loaded loaded = new Loaded(List.copyOf(loadFromDelegate(key)), System.currentTimeMillis());
+                    // Not stored if the entry was invalidated or reloaded meanwhile
+                    entries.replace(key, current, CompletableFuture.completedFuture(loaded));
+                    refreshSuccessCounter.increment();
+                } catch (RuntimeException e) {
+                    // The current authorities are served until they expire
+                    refreshFailureCounter.increment();
+                    logger.warn("Could not refresh the authorities of user [{}]: {}", key.userId(), e.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Rejected during shutdown
+            refreshing.remove(key);
+        }
+    }
+
+    private List<GrantedAuthority> loadFromDelegate(Key key) {
+        return key.networkId() == null ? delegate.getAuthoritiesForUser(key.userId())
+                : delegate.getAuthoritiesForUser(key.networkId(), key.userId());
+    }
+
+    /**
+     * Once the cache is beyond its size, drops expired and failed entries,
+     * then the completed entries loaded the longest ago until the cache is
+     * back to its trimmed size. Loads in progress are never evicted, so
+     * callers waiting on them keep sharing one load. Misses arriving while
+     * another thread trims do not trim again.
+     */
+    private void evictIfFull() {
+        if (entries.size() <= maxSize || !evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(future -> future.isDone()
+                    && (future.isCompletedExceptionally() || now - future.join().loadedAt() >= ttlMillis));
+            int excess = entries.size() - trimmedSize;
+            if (excess <= 0) {
+                return;
+            }
+            entries.entrySet().stream()
+                    .filter(entry -> entry.getValue().isDone() && !entry.getValue().isCompletedExceptionally())
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().join().loadedAt()))
+                    .limit(excess)
+                    .toList()
+                    .forEach(entry -> entries.remove(entry.getKey(), entry.getValue()));
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static List<GrantedAuthority> join(CompletableFuture<Loaded> loading) {
+        try {
+            return loading.join().authorities();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("contacts.security.authority-cache")
+                .tag("result", result)
+                .description("User authority cache lookups")
+                .register(meterRegistry);
+    }
+
+    private static Counter refreshCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("contacts.security.authority-cache.refreshes")
+                .tag("result", result)
+                .description("Background reloads of cached user authorities")
+                .register(meterRegistry);
+    }
+
+    private record Key(String networkId, String userId) {
+    }
+
+    private record Loaded(List<GrantedAuthority> authorities, long loadedAt) {
+    }
+}
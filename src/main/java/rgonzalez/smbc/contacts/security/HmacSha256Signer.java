@@ -0,0 +1,110 @@
+package rgonzalez.smbc.contacts.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * HS256 (HMAC-SHA256) signing and verification of JWT tokens with the
+ * jwt.secret key.
+ *
+ * Each thread keeps its own Mac, initialized with the key once, so signing or
+ * verifying a token never looks up the algorithm or re-derives the key.
+ * Signatures are compared in constant time.
+ */
+@Component
+public class HmacSha256Signer {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> mac;
+    private final ThreadLocal<byte[]> inputBuffer = ThreadLocal.withInitial(() -> new byte[512]);
+
+    public HmacSha256Signer(@Value("${jwt.secret:your-secret-key-change-in-production}") String secret) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        // Fails at startup rather than on the first request if HMAC-SHA256 is unavailable
+        newMac();
+        this.mac = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * @param signingInput the header and payload segments, joined by a dot
+     * @return the base64url encoded signature segment
+     */
+    public String sign(String signingInput) {
+        return BASE64_URL.encodeToString(mac(signingInput, signingInput.length()));
+    }
+
+    /**
+     * @param signingInput buffer holding the header and payload segments, joined
+     *                     by a dot, as ASCII
+     * @param length       the length of the signing input in the buffer
+     * @return the HMAC of the signing input (not encoded)
+     */
+    public byte[] sign(byte[] signingInput, int length) {
+        Mac instance = mac.get();
+        instance.update(signingInput, 0, length);
+        return instance.doFinal();
+    }
+
+    /**
+     * Verifies the signature segment of a token
+     *
+     * @param token a token with three dot-separated segments
+     * @return whether the last segment is the signature of the first two
+     */
+    public boolean verify(String token) {
+        int lastDot = token.lastIndexOf('.');
+        if (lastDot <= 0) {
+            return false;
+        }
+        byte[] expected = BASE64_URL.encode(mac(token, lastDot));
+        int signatureLength = token.length() - lastDot - 1;
+        if (signatureLength != expected.length) {
+            return false;
+        }
+        byte[] signature = new byte[signatureLength];
+        for (int i = 0; i < signatureLength; i++) {
+            signature[i] = (byte) token.charAt(lastDot + 1 + i);
+        }
+        return MessageDigest.isEqual(expected, signature);
+    }
+
+    /**
+     * @param input  the text to sign
+     * @param length the number of leading characters of the text to sign
+     * @return the HMAC of the leading characters of the text (all ASCII in a
+     *         well formed token; other characters never produce a match)
+     */
+    private byte[] mac(String input, int length) {
+        byte[] buffer = inputBuffer.get();
+        if (buffer.length < length) {
+            buffer = new byte[Math.max(length, buffer.length * 2)];
+            inputBuffer.set(buffer);
+        }
+        for (int i = 0; i < length; i++) {
+            char c = input.charAt(i);
+            buffer[i] = c < 0x80 ? (byte) c : (byte) '?';
+        }
+        return sign(buffer, length);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac instance = Mac.getInstance(ALGORITHM);
+            instance.init(key);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialize " + ALGORITHM, e);
+        }
+    }
+}
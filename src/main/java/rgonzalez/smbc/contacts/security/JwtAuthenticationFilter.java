@@ -1,15 +1,22 @@
 package rgonzalez.smbc.contacts.security;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
-import java.util.logging.Logger;
+import java.util.concurrent.ThreadLocalRandom;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -18,6 +25,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.core.GrantedAuthority;
+import rgonzalez.smbc.contacts.jfr.JwtAuthenticationEvent;
 
 /**
  * Custom JWT authentication filter that:
@@ -25,13 +33,27 @@ import org.springframework.security.core.GrantedAuthority;
  * 2. Validates the token content
  * 3. Retrieves authorization list based on userid
  * 4. Sets the authentication in the security context
+ *
+ * Verified tokens are remembered by {@link TokenAuthenticationCache}, so steps
+ * 2 and 3 run once per token (until it expires) rather than once per request.
+ * The public paths of {@link SecurityConfig} are not filtered at all.
+ *
+ * With contacts.security.jwt-filter.diagnostics.enabled, a sample-rate share
+ * of the requests is traced at DEBUG (request headers, token values masked,
+ * and the outcome); off by default.
+ *
+ * Each authentication is a {@link JwtAuthenticationEvent} in JFR recordings.
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
-    private static final Logger logger = Logger.getLogger(JwtAuthenticationFilter.class.getName());
+    private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+
+    private static final RequestMatcher PUBLIC_REQUESTS = new OrRequestMatcher(Arrays.stream(SecurityConfig.PUBLIC_PATHS)
+            .map(path -> (RequestMatcher) PathPatternRequestMatcher.withDefaults().matcher(path))
+            .toList());
 
     @Autowired(required = true)
     private JwtTokenProvider jwtTokenProvider;
@@ -39,60 +61,103 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired(required = false)
     private UserAuthorizationService userAuthorizationService;
 
+    @Autowired(required = false)
+    private TokenAuthenticationCache tokenAuthenticationCache;
+
+    @Value("${contacts.security.jwt-filter.diagnostics.enabled:false}")
+    private boolean diagnosticsEnabled;
+
+    @Value("${contacts.security.jwt-filter.diagnostics.sample-rate:0.01}")
+    private double diagnosticsSampleRate;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // permitAll paths need no authentication, skip all JWT work
+        return PUBLIC_REQUESTS.matches(request);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
+        boolean trace = isTraced();
+        // Free unless a JFR recording enables the event
+        JwtAuthenticationEvent event = new JwtAuthenticationEvent();
+        event.begin();
+        String jwt = null;
+        TokenAuthenticationCache.CachedAuthentication cached = null;
+        List<GrantedAuthority> authorities = null;
+        boolean authenticated = false;
         try {
-            logger.info("JwtAuthenticationFilter processing request: " + request.getRequestURI());
+            if (trace) {
+                logRequest(request);
+            }
 
             // Extract JWT token from Authorization header
-            String jwt = extractTokenFromRequest(request);
+            jwt = extractTokenFromRequest(request);
 
             if (jwt != null) {
-                logger.info("JWT token found in Authorization header");
-
-                // If token exists and token provider is available, validate and process
-                if (jwtTokenProvider != null) {
-                    logger.info("JwtTokenProvider is available, validating token");
-
-                    // Validate JWT token
-                    if (jwtTokenProvider.validateToken(jwt)) {
-                        logger.info("JWT token is valid");
-
+                cached = tokenAuthenticationCache != null
+                        ? tokenAuthenticationCache.get(jwt)
+                        : null;
+
+                if (cached != null) {
+                    // Token already verified: skip parsing, validation and authority lookup
+                    authorities = cached.authorities();
+                    setAuthentication(request, cached.userId(), authorities);
+                    authenticated = true;
+                    if (trace) {
+                        logger.debug("Authentication set from token cache for userId: {}", cached.userId());
+                    }
+                } else if (jwtTokenProvider != null) {
+                    // Validate JWT token and read its claims in a single parse
+                    JwtClaims claims = jwtTokenProvider.parseAndValidate(jwt);
+                    if (claims != null) {
                         // Extract userid from token
-                        String userId = jwtTokenProvider.getUserIdFromToken(jwt);
-                        logger.info("Extracted userId from token: " + userId);
+                        String userId = claims.subject();
+
+                        // Read first: authorities loaded across an invalidation are not cached
+                        long generation = tokenAuthenticationCache != null
+                                ? tokenAuthenticationCache.generation()
+                                : 0;
 
                         // Retrieve authorization list based on userid
-                        List<GrantedAuthority> authorities = Collections.emptyList();
+                        authorities = Collections.emptyList();
                         if (userAuthorizationService != null && userId != null) {
                             authorities = userAuthorizationService.getAuthoritiesForUser(userId);
                         }
 
-                        // Create authentication token
-                        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                                userId,
-                                null, authorities);
-
-                        // Set additional details from request
-                        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                        if (tokenAuthenticationCache != null && userId != null) {
+                            tokenAuthenticationCache.put(jwt, userId, authorities,
+                                    claims.expiration(), generation);
+                        }
 
-                        // Set authentication in security context
-                        SecurityContextHolder.getContext().setAuthentication(authentication);
-                        logger.info("Authentication set in security context for userId: " + userId);
+                        setAuthentication(request, userId, authorities);
+                        authenticated = true;
+                        if (trace) {
+                            logger.debug("Authentication set in security context for userId: {} with {} authorities",
+                                    userId, authorities.size());
+                        }
                     } else {
-                        logger.warning("JWT token validation failed");
+                        logger.debug("JWT token validation failed for request: {}", request.getRequestURI());
                     }
                 } else {
-                    logger.warning("JwtTokenProvider is not available");
+                    logger.warn("JwtTokenProvider is not available");
                 }
-            } else {
-                logger.info("No JWT token found in Authorization header");
+            } else if (trace) {
+                logger.debug("No JWT token found in Authorization header");
             }
         } catch (Exception ex) {
-            logger.severe("Could not set user authentication in security context: " + ex.getMessage());
-            ex.printStackTrace();
+            logger.error("Could not set user authentication in security context", ex);
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.uri = request.getRequestURI();
+            event.tokenPresent = jwt != null;
+            event.cacheHit = cached != null;
+            event.authenticated = authenticated;
+            event.authorities = authenticated ? authorities.size() : 0;
+            event.commit();
         }
 
         // Continue with the filter chain
@@ -100,26 +165,60 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
 
     /**
-     * Extracts JWT token from the Authorization header.
-     * Expected format: "Authorization: Bearer {token}"
+     * @return whether the current request is traced by the diagnostic mode
+     */
+    private boolean isTraced() {
+        return diagnosticsEnabled && logger.isDebugEnabled()
+                && (diagnosticsSampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < diagnosticsSampleRate);
+    }
+
+    /**
+     * Logs the URI and headers of a traced request, masking bearer tokens
      *
      * @param request the HTTP request
-     * @return the JWT token, or null if not found or invalid format
      */
-    private String extractTokenFromRequest(HttpServletRequest request) {
-        String authHeader = request.getHeader(AUTHORIZATION_HEADER);
-
-        logger.info("Authorization header value: " + authHeader);
-
-        // Log all headers for debugging
+    private void logRequest(HttpServletRequest request) {
+        StringBuilder headers = new StringBuilder();
         Enumeration<String> headerNames = request.getHeaderNames();
-        logger.info("All request headers:");
         while (headerNames.hasMoreElements()) {
             String headerName = headerNames.nextElement();
             String headerValue = request.getHeader(headerName);
-            logger.info("  " + headerName + ": "
-                    + (headerValue != null && headerValue.startsWith("Bearer ") ? "Bearer [token]" : headerValue));
+            headers.append("\n  ").append(headerName).append(": ")
+                    .append(headerValue != null && headerValue.startsWith(BEARER_PREFIX) ? "Bearer [token]" : headerValue);
         }
+        logger.debug("JwtAuthenticationFilter processing request: {}{}", request.getRequestURI(), headers);
+    }
+
+    /**
+     * Sets the authentication of a verified token in the security context
+     *
+     * @param request     the HTTP request
+     * @param userId      the user id of the token
+     * @param authorities the authorities of the user
+     */
+    private void setAuthentication(HttpServletRequest request, String userId,
+            List<GrantedAuthority> authorities) {
+        // Create authentication token
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                userId,
+                null, authorities);
+
+        // Set additional details from request
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+        // Set authentication in security context
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
+    /**
+     * Extracts JWT token from the Authorization header.
+     * Expected format: "Authorization: Bearer {token}"
+     *
+     * @param request the HTTP request
+     * @return the JWT token, or null if not found or invalid format
+     */
+    private String extractTokenFromRequest(HttpServletRequest request) {
+        String authHeader = request.getHeader(AUTHORIZATION_HEADER);
 
         if (authHeader != null && authHeader.startsWith(BEARER_PREFIX)) {
             return authHeader.substring(BEARER_PREFIX.length());
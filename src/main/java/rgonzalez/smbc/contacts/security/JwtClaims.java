@@ -0,0 +1,12 @@
+package rgonzalez.smbc.contacts.security;
+
+/**
+ * Claims of a JWT token used by the application.
+ *
+ * @param subject    the sub claim (user id)
+ * @param name       the name claim (username)
+ * @param expiration the exp claim, in seconds since the epoch
+ * @param networkId  the networkId claim
+ */
+public record JwtClaims(String subject, String name, Long expiration, String networkId) {
+}
@@ -0,0 +1,137 @@
+package rgonzalez.smbc.contacts.security;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Single-pass parser of the claims of a compact JWT
+ * ({header}.{payload}.{signature}).
+ *
+ * The segments are located by index instead of splitting the token, the
+ * base64url payload is decoded straight from the token characters into a
+ * per-thread buffer that is reused across calls, and the claims are read from
+ * that buffer with a streaming JSON parser; nested claims are skipped without
+ * being materialized.
+ */
+public final class JwtClaimsParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int INITIAL_BUFFER_SIZE = 512;
+    private static final byte[] BASE64_URL = new byte[128];
+
+    static {
+        Arrays.fill(BASE64_URL, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64_URL[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    private static final ThreadLocal<byte[]> PAYLOAD_BUFFER = ThreadLocal
+            .withInitial(() -> new byte[INITIAL_BUFFER_SIZE]);
+
+    private JwtClaimsParser() {
+    }
+
+    /**
+     * Parses the claims of a token
+     *
+     * @param token the compact JWT
+     * @return the claims
+     * @throws IllegalArgumentException if the token is not a three segment JWT
+     *                                  with a base64url JSON object payload
+     */
+    public static JwtClaims parse(String token) {
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+        if (firstDot <= 0 || secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0) {
+            throw new IllegalArgumentException("Token is not made of three segments");
+        }
+
+        byte[] buffer = PAYLOAD_BUFFER.get();
+        int maxLength = (secondDot - firstDot - 1) * 3 / 4 + 3;
+        if (buffer.length < maxLength) {
+            buffer = new byte[Math.max(maxLength, buffer.length * 2)];
+            PAYLOAD_BUFFER.set(buffer);
+        }
+        int length = decodeBase64Url(token, firstDot + 1, secondDot, buffer);
+        return readClaims(buffer, length);
+    }
+
+    private static JwtClaims readClaims(byte[] payload, int length) {
+        String subject = null;
+        String name = null;
+        Long expiration = null;
+        String networkId = null;
+
+        try (JsonParser parser = JSON_FACTORY.createParser(payload, 0, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Token payload is not a JSON object");
+            }
+            String field;
+            while ((field = parser.nextFieldName()) != null) {
+                JsonToken token = parser.nextToken();
+                switch (field) {
+                    case "sub" -> subject = scalar(parser, token);
+                    case "name" -> name = scalar(parser, token);
+                    case "networkId" -> networkId = scalar(parser, token);
+                    case "exp" -> {
+                        String value = scalar(parser, token);
+                        expiration = value == null ? null : Long.valueOf(value);
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Token payload is not valid JSON: " + e.getMessage(), e);
+        }
+        return new JwtClaims(subject, name, expiration, networkId);
+    }
+
+    private static String scalar(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (!token.isScalarValue()) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getText();
+    }
+
+    /**
+     * Decodes base64url characters [from, to) of the token, padded or not,
+     * into the buffer
+     *
+     * @return the number of decoded bytes
+     */
+    private static int decodeBase64Url(String token, int from, int to, byte[] out) {
+        while (to > from && token.charAt(to - 1) == '=') {
+            to--;
+        }
+        if ((to - from) % 4 == 1) {
+            throw new IllegalArgumentException("Token payload has an invalid base64url length");
+        }
+        int length = 0;
+        int bits = 0;
+        int bitCount = 0;
+        for (int i = from; i < to; i++) {
+            char c = token.charAt(i);
+            int value = c < 128 ? BASE64_URL[c] : -1;
+            if (value < 0) {
+                throw new IllegalArgumentException("Token payload is not base64url encoded");
+            }
+            bits = ((bits << 6) | value) & 0xFFFFFF;
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                out[length++] = (byte) (bits >> bitCount);
+            }
+        }
+        return length;
+    }
+}
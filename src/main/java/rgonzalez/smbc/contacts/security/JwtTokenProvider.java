@@ -14,6 +14,14 @@ public interface JwtTokenProvider {
      */
     boolean validateToken(String token);
 
+    /**
+     * Validates the JWT token and returns its claims, parsing it only once.
+     *
+     * @param token the JWT token to validate
+     * @return the token claims if the token is valid, null otherwise
+     */
+    JwtClaims parseAndValidate(String token);
+
     /**
      * Extracts the userid from the JWT token claims.
      *
@@ -29,4 +37,13 @@ public interface JwtTokenProvider {
      * @return the username from the token, or null if not found
      */
     String getUsernameFromToken(String token);
+
+    /**
+     * Extracts the expiration time (exp claim) from the JWT token claims.
+     *
+     * @param token the JWT token
+     * @return the expiration time in seconds since the epoch, or null if the
+     *         token has no exp claim
+     */
+    Long getExpirationFromToken(String token);
 }
@@ -12,6 +12,37 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @EnableWebSecurity
 public class SecurityConfig {
 
+        /**
+         * Paths accessible without authentication; {@link JwtAuthenticationFilter}
+         * skips them
+         */
+        static final String[] PUBLIC_PATHS = {
+                        // Swagger UI
+                        "/swagger-ui/**",
+                        "/swagger-ui.html",
+                        "/v3/api-docs/**",
+                        "/v3/api-docs.yaml",
+                        // Actuator health; the Prometheus endpoint needs a token like the API
+                        "/actuator/health",
+                        // Token generation endpoint
+                        "/api/v1/token/**" };
+
+        /**
+         * Role required by the administration endpoints. Tokens can be minted for
+         * any user id, so being authenticated is not enough for these; the role
+         * comes from the UserAuthorizationService (ROLE_ADMIN)
+         */
+        static final String ADMIN_ROLE = "ADMIN";
+
+        /**
+         * Paths restricted to {@link #ADMIN_ROLE}
+         */
+        static final String[] ADMIN_PATHS = {
+                        // Dead-letter topic replay
+                        "/api/v1/admin/ssn-verification/**",
+                        // Authority and token cache invalidation
+                        "/api/v1/admin/authorities/**" };
+
         @Autowired(required = false)
         private JwtAuthenticationFilter jwtAuthenticationFilter;
 
@@ -19,17 +50,11 @@ public class SecurityConfig {
         public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
                 http
                                 .authorizeHttpRequests(authz -> authz
-                                                // Allow public access to Swagger UI
-                                                .requestMatchers(
-                                                                "/swagger-ui/**",
-                                                                "/swagger-ui.html",
-                                                                "/v3/api-docs/**",
-                                                                "/v3/api-docs.yaml")
-                                                .permitAll()
-                                                // Allow public access to actuator health endpoint
-                                                .requestMatchers("/actuator/health").permitAll()
-                                                // Allow public access to token generation endpoint
-                                                .requestMatchers("/api/v1/token/**").permitAll()
+                                                // Allow public access to Swagger UI, actuator health and
+                                                // token generation endpoints
+                                                .requestMatchers(PUBLIC_PATHS).permitAll()
+                                                // Administration endpoints need the admin role
+                                                .requestMatchers(ADMIN_PATHS).hasRole(ADMIN_ROLE)
                                                 // Allow temp public access to contact management endpoints
                                                 // .requestMatchers("/api/v1/contacts/**").permitAll()
                                                 // All other requests require authentication
@@ -0,0 +1,174 @@
+package rgonzalez.smbc.contacts.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded cache of verified bearer tokens, so a token reused across requests
+ * is parsed, validated and resolved to authorities only once.
+ *
+ * Entries are keyed by the SHA-256 digest of the token (the token itself is
+ * never kept) and hold the user id and authorities resolved for it. An entry
+ * expires at the token's exp claim or after ttl-seconds, whichever comes
+ * first; the TTL bounds how long a change of the user's authorities takes to
+ * apply. The least recently used entries are evicted beyond max-size.
+ *
+ * {@link #clear()} starts a new generation: an authentication resolved before
+ * it, e.g. from an authority load still in flight when the authorities were
+ * invalidated, is not cached by {@link #put}.
+ *
+ * Exposed as contacts.security.token-cache{result=hit|miss} and
+ * contacts.security.token-cache.size.
+ */
+@Component
+public class TokenAuthenticationCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final Map<String, CachedAuthentication> entries;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private long generation;
+
+    public TokenAuthenticationCache(
+            @Value("${contacts.security.token-cache.enabled:true}") boolean enabled,
+            @Value("${contacts.security.token-cache.max-size:10000}") int maxSize,
+            @Value("${contacts.security.token-cache.ttl-seconds:300}") long ttlSeconds,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedAuthentication> eldest) {
+                return size() > maxSize;
+            }
+        };
+        this.hitCounter = cacheCounter(meterRegistry, "hit");
+        this.missCounter = cacheCounter(meterRegistry, "miss");
+        Gauge.builder("contacts.security.token-cache.size", this, TokenAuthenticationCache::size)
+                .description("Verified bearer tokens currently cached")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param token the bearer token
+     * @return the cached authentication of the token, or null if it is not
+     *         cached or has expired
+     */
+    public CachedAuthentication get(String token) {
+        if (!enabled) {
+            return null;
+        }
+        String key = digest(token);
+        CachedAuthentication cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+            if (cached != null && cached.expiresAt() <= System.currentTimeMillis()) {
+                entries.remove(key);
+                cached = null;
+            }
+        }
+        (cached == null ? missCounter : hitCounter).increment();
+        return cached;
+    }
+
+    /**
+     * @return the current generation, to read before resolving the
+     *         authorities of a token and pass to {@link #put}
+     */
+    public long generation() {
+        synchronized (entries) {
+            return generation;
+        }
+    }
+
+    /**
+     * Caches the authentication of a verified token, unless the cache was
+     * cleared since {@code generation} was read
+     *
+     * @param token                 the bearer token
+     * @param userId                the user id of the token
+     * @param authorities           the authorities resolved for the user
+     * @param expirationEpochSecond the exp claim of the token, null if it has
+     *                              none
+     * @param generation            the {@link #generation()} read before the
+     *                              authorities were resolved
+     * @return the authentication, cached or not
+     */
+    public CachedAuthentication put(String token, String userId, List<GrantedAuthority> authorities,
+            Long expirationEpochSecond, long generation) {
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        if (expirationEpochSecond != null) {
+            expiresAt = Math.min(expiresAt, expirationEpochSecond * 1000);
+        }
+        CachedAuthentication cached = new CachedAuthentication(userId, List.copyOf(authorities), expiresAt);
+        if (enabled && expiresAt > System.currentTimeMillis()) {
+            String key = digest(token);
+            synchronized (entries) {
+                if (generation == this.generation) {
+                    entries.put(key, cached);
+                }
+            }
+        }
+        return cached;
+    }
+
+    /**
+     * Removes every cached token, e.g. after authorities changed
+     */
+    public void clear() {
+        synchronized (entries) {
+            generation++;
+            entries.clear();
+        }
+    }
+
+    private int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static String digest(String token) {
+        MessageDigest digest = SHA_256.get();
+        digest.reset();
+        return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static Counter cacheCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("contacts.security.token-cache")
+                .tag("result", result)
+                .description("Bearer token authentication cache lookups")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Authentication data of a verified token
+     *
+     * @param userId      the user id (token subject)
+     * @param authorities the authorities of the user
+     * @param expiresAt   when the entry expires (epoch millis)
+     */
+    public record CachedAuthentication(String userId, List<GrantedAuthority> authorities, long expiresAt) {
+    }
+}
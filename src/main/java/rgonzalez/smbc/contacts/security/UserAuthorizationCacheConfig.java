@@ -0,0 +1,44 @@
+package rgonzalez.smbc.contacts.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Wraps the UserAuthorizationService bean, whichever implementation it is, in
+ * a {@link CachingUserAuthorizationService} unless
+ * contacts.security.authority-cache.enabled is false.
+ */
+@Configuration
+public class UserAuthorizationCacheConfig {
+
+    @Bean
+    static BeanPostProcessor userAuthorizationCachePostProcessor(Environment environment,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            ObjectProvider<TokenAuthenticationCache> tokenAuthenticationCache) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof UserAuthorizationService service)
+                        || bean instanceof CachingUserAuthorizationService
+                        || !environment.getProperty("contacts.security.authority-cache.enabled", Boolean.class,
+                                true)) {
+                    return bean;
+                }
+                return new CachingUserAuthorizationService(service,
+                        environment.getProperty("contacts.security.authority-cache.ttl-seconds", Long.class, 300L),
+                        environment.getProperty("contacts.security.authority-cache.refresh-ahead-seconds",
+                                Long.class, 60L),
+                        environment.getProperty("contacts.security.authority-cache.max-size", Integer.class, 10000),
+                        environment.getProperty("contacts.security.authority-cache.refresh-threads", Integer.class,
+                                2),
+                        // Tokens cache the authorities resolved for them too
+                        () -> tokenAuthenticationCache.ifAvailable(TokenAuthenticationCache::clear),
+                        meterRegistry.getObject());
+            }
+        };
+    }
+}
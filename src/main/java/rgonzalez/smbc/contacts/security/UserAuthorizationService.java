@@ -29,4 +29,20 @@ public interface UserAuthorizationService {
      *         found
      */
     List<GrantedAuthority> getAuthoritiesForUser(String networkId, String userId);
+
+    /**
+     * Discards any authorities of a user kept by the implementation, so they are
+     * loaded again on the next request. Does nothing by default.
+     *
+     * @param userId the user identifier
+     */
+    default void invalidate(String userId) {
+    }
+
+    /**
+     * Discards all authorities kept by the implementation. Does nothing by
+     * default.
+     */
+    default void invalidateAll() {
+    }
 }
@@ -0,0 +1,36 @@
+package rgonzalez.smbc.contacts.service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import rgonzalez.smbc.contacts.model.dto.BusinessEventPage;
+import rgonzalez.smbc.contacts.model.dto.BusinessEventPayload;
+
+public interface BusinessEventService {
+
+    /**
+     * Retrieve a page of the event history of an aggregate, newest first,
+     * without payloads
+     * 
+     * @param aggregateName the aggregate type, e.g. Contact
+     * @param aggregateId   the aggregate ID
+     * @param eventName     only events with this name (optional)
+     * @param from          only events created at or after this time (optional)
+     * @param to            only events created before this time (optional)
+     * @param cursor        the nextCursor of the previous page (optional)
+     * @param limit         the maximum number of events to return
+     * @return the page of events
+     */
+    BusinessEventPage getEventHistory(String aggregateName, String aggregateId, String eventName,
+            LocalDateTime from, LocalDateTime to, String cursor, Integer limit);
+
+    /**
+     * Retrieve the payload of one event of an aggregate
+     * 
+     * @param aggregateName the aggregate type, e.g. Contact
+     * @param aggregateId   the aggregate ID
+     * @param eventId       the event ID
+     * @return an Optional containing the payload if found
+     */
+    Optional<BusinessEventPayload> getEventPayload(String aggregateName, String aggregateId, String eventId);
+}
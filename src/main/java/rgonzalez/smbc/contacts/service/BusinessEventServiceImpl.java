@@ -0,0 +1,63 @@
+package rgonzalez.smbc.contacts.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import rgonzalez.smbc.contacts.dao.BusinessEventRepository;
+import rgonzalez.smbc.contacts.model.dto.BusinessEventCursor;
+import rgonzalez.smbc.contacts.model.dto.BusinessEventPage;
+import rgonzalez.smbc.contacts.model.dto.BusinessEventPayload;
+import rgonzalez.smbc.contacts.model.dto.BusinessEventSummary;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@Transactional(readOnly = true)
+public class BusinessEventServiceImpl implements BusinessEventService {
+
+    private final BusinessEventRepository businessEventRepository;
+    private final int defaultLimit;
+    private final int maxLimit;
+
+    public BusinessEventServiceImpl(BusinessEventRepository businessEventRepository,
+            @Value("${contacts.events.history.default-limit:50}") int defaultLimit,
+            @Value("${contacts.events.history.max-limit:500}") int maxLimit) {
+        this.businessEventRepository = businessEventRepository;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    @Override
+    public BusinessEventPage getEventHistory(String aggregateName, String aggregateId, String eventName,
+            LocalDateTime from, LocalDateTime to, String cursor, Integer limit) {
+        int pageSize = limit != null ? limit : defaultLimit;
+        if (pageSize < 1 || pageSize > maxLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxLimit);
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        BusinessEventCursor before = cursor == null || cursor.isBlank() ? null : BusinessEventCursor.parse(cursor);
+
+        String name = eventName == null || eventName.isBlank() ? null : eventName;
+
+        // One extra row tells whether another page exists without a count query
+        List<BusinessEventSummary> events = businessEventRepository.findHistory(aggregateName, aggregateId, name,
+                before, from, to, pageSize + 1);
+
+        String nextCursor = null;
+        if (events.size() > pageSize) {
+            events = events.subList(0, pageSize);
+            nextCursor = BusinessEventCursor.of(events.get(pageSize - 1)).toString();
+        }
+        return new BusinessEventPage(events, nextCursor);
+    }
+
+    @Override
+    public Optional<BusinessEventPayload> getEventPayload(String aggregateName, String aggregateId, String eventId) {
+        return businessEventRepository.findPayload(aggregateName, aggregateId, eventId);
+    }
+}
@@ -12,6 +12,7 @@ import rgonzalez.smbc.contacts.events.KafkaTopicConfig;
 import rgonzalez.smbc.contacts.model.BusinessEvent;
 import rgonzalez.smbc.contacts.model.Contact;
 import rgonzalez.smbc.contacts.model.system.BusinessActivity;
+import rgonzalez.smbc.contacts.model.system.EventPayloadMode;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -85,6 +86,7 @@ public class ContactServiceImpl implements ContactService {
     }
 
     @Override
+    @BusinessActivity(lineOfBusiness = "SMBC - Mortgage Lending", activityName = "UpdateContact", eventName = "ContactUpdated", isAuditable = true, isOnlyAnInquiry = false, payloadMode = EventPayloadMode.DELTA)
     public Contact updateContact(Long id, Contact contact) {
         return contactRepository.findById(id)
                 .map(existingContact -> {
@@ -0,0 +1,16 @@
+package rgonzalez.smbc.contacts.service;
+
+import rgonzalez.smbc.contacts.model.dto.DeadLetterReplayResult;
+
+public interface DeadLetterReplayService {
+
+    /**
+     * Republish records of the customer-ssn-verified dead-letter topic to the
+     * customer-ssn-verified topic, oldest first, and commit them as replayed
+     * 
+     * @param max the maximum number of records to replay (optional, capped by
+     *            contacts.ssn-verification.dlt.replay-max-records)
+     * @return the number of records replayed
+     */
+    DeadLetterReplayResult replaySsnVerificationDeadLetters(Integer max);
+}
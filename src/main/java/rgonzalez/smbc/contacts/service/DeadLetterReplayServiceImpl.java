@@ -0,0 +1,153 @@
+package rgonzalez.smbc.contacts.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.kafka.autoconfigure.KafkaProperties;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import rgonzalez.smbc.contacts.events.KafkaTopicConfig;
+import rgonzalez.smbc.contacts.model.dto.DeadLetterReplayResult;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Replays the customer-ssn-verified dead-letter topic with a dedicated
+ * consumer group, so the committed offset of that group marks how far the
+ * topic has been replayed.
+ *
+ * Records are republished as raw bytes with their key and headers, minus the
+ * exception headers of the failure; the original topic, partition and offset
+ * headers are kept so the listener identifies a replayed record as the message
+ * it was first received as. Offsets are committed only after every send is
+ * acknowledged, so a failed replay is repeated rather than lost. Replayed
+ * records are counted in contacts.ssn-verification.dlt.replayed.
+ */
+@Service
+public class DeadLetterReplayServiceImpl implements DeadLetterReplayService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeadLetterReplayServiceImpl.class);
+
+    static final String REPLAY_GROUP_ID = "contacts-service-dlt-replay";
+    private static final String DLT_HEADER_PREFIX = "kafka_dlt-";
+    private static final String DLT_ORIGINAL_HEADER_PREFIX = "kafka_dlt-original-";
+    private static final String DESERIALIZER_EXCEPTION_HEADER_PREFIX = "springDeserializerException";
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(2);
+    private static final long SEND_TIMEOUT_SECONDS = 60;
+
+    private final ConsumerFactory<byte[], byte[]> consumerFactory;
+    private final KafkaTemplate<Object, Object> deadLetterKafkaTemplate;
+    private final int maxRecords;
+    private final Counter replayedCounter;
+
+    public DeadLetterReplayServiceImpl(KafkaProperties kafkaProperties,
+            KafkaTemplate<Object, Object> deadLetterKafkaTemplate,
+            @Value("${contacts.ssn-verification.dlt.replay-max-records:1000}") int maxRecords,
+            MeterRegistry meterRegistry) {
+        Map<String, Object> configProps = new HashMap<>(kafkaProperties.buildConsumerProperties());
+        configProps.put(ConsumerConfig.GROUP_ID_CONFIG, REPLAY_GROUP_ID);
+        configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        configProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, Math.min(Math.max(1, maxRecords), 500));
+        this.consumerFactory = new DefaultKafkaConsumerFactory<>(configProps, new ByteArrayDeserializer(),
+                new ByteArrayDeserializer());
+        this.deadLetterKafkaTemplate = deadLetterKafkaTemplate;
+        this.maxRecords = maxRecords;
+        this.replayedCounter = Counter.builder("contacts.ssn-verification.dlt.replayed")
+                .description("Dead-lettered SSN verification records republished to customer-ssn-verified")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized DeadLetterReplayResult replaySsnVerificationDeadLetters(Integer max) {
+        if (max != null && max < 1) {
+            throw new IllegalArgumentException("max must be at least 1");
+        }
+        int limit = max == null ? maxRecords : Math.min(max, maxRecords);
+        String deadLetterTopic = KafkaTopicConfig.CUSTOMER_SSN_VERIFIED_DLT_TOPIC;
+        String targetTopic = KafkaTopicConfig.CUSTOMER_SSN_VERIFIED_TOPIC;
+
+        try (Consumer<byte[], byte[]> consumer = consumerFactory.createConsumer()) {
+            List<PartitionInfo> partitionInfos = consumer.partitionsFor(deadLetterTopic);
+            if (partitionInfos == null || partitionInfos.isEmpty()) {
+                return new DeadLetterReplayResult(deadLetterTopic, targetTopic, 0);
+            }
+            List<TopicPartition> partitions = new ArrayList<>(partitionInfos.size());
+            for (PartitionInfo partitionInfo : partitionInfos) {
+                partitions.add(new TopicPartition(deadLetterTopic, partitionInfo.partition()));
+            }
+            consumer.assign(partitions);
+
+            List<CompletableFuture<?>> sends = new ArrayList<>();
+            Map<TopicPartition, OffsetAndMetadata> replayedOffsets = new HashMap<>();
+            while (sends.size() < limit) {
+                ConsumerRecords<byte[], byte[]> polled = consumer.poll(POLL_TIMEOUT);
+                if (polled.isEmpty()) {
+                    break;
+                }
+                for (ConsumerRecord<byte[], byte[]> record : polled) {
+                    if (sends.size() >= limit) {
+                        break;
+                    }
+                    sends.add(deadLetterKafkaTemplate.send(toTargetRecord(targetTopic, record)));
+                    replayedOffsets.put(new TopicPartition(record.topic(), record.partition()),
+                            new OffsetAndMetadata(record.offset() + 1));
+                }
+            }
+            if (sends.isEmpty()) {
+                return new DeadLetterReplayResult(deadLetterTopic, targetTopic, 0);
+            }
+
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                    .get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            consumer.commitSync(replayedOffsets);
+            replayedCounter.increment(sends.size());
+            logger.info("Replayed {} records from {} to {}", sends.size(), deadLetterTopic, targetTopic);
+            return new DeadLetterReplayResult(deadLetterTopic, targetTopic, sends.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while replaying " + deadLetterTopic, e);
+        } catch (ExecutionException | TimeoutException e) {
+            // Nothing is committed: the same records are replayed by the next request
+            throw new IllegalStateException("Failed to replay " + deadLetterTopic + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static ProducerRecord<Object, Object> toTargetRecord(String targetTopic,
+            ConsumerRecord<byte[], byte[]> record) {
+        RecordHeaders headers = new RecordHeaders();
+        for (Header header : record.headers()) {
+            String key = header.key();
+            boolean failureHeader = (key.startsWith(DLT_HEADER_PREFIX) && !key.startsWith(DLT_ORIGINAL_HEADER_PREFIX))
+                    || key.startsWith(DESERIALIZER_EXCEPTION_HEADER_PREFIX);
+            if (!failureHeader) {
+                headers.add(header);
+            }
+        }
+        return new ProducerRecord<>(targetTopic, null, record.key(), record.value(), headers);
+    }
+}
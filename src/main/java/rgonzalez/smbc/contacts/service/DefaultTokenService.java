@@ -1,18 +1,29 @@
 package rgonzalez.smbc.contacts.service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import rgonzalez.smbc.contacts.model.dto.TokenRequest;
+import rgonzalez.smbc.contacts.security.HmacSha256Signer;
+
 /**
  * Default JWT token generator that creates simple JWT tokens.
  * This is a basic implementation suitable for development and testing.
- * 
+ *
  * For production use, replace with JJWT or Nimbus JOSE+JWT library.
- * 
+ *
  * Token format: {header}.{payload}.{signature}
- * Where each part is base64url encoded JSON.
+ * Where header and payload are base64url encoded JSON and signature is the
+ * base64url encoded HS256 signature of "{header}.{payload}" with jwt.secret.
+ *
+ * Tokens are written byte by byte into a per-thread buffer: the payload JSON
+ * as UTF-8, then the pre-encoded header, the encoded payload and the encoded
+ * signature, so minting a token allocates little more than the token itself.
  */
 @Service
 public class DefaultTokenService implements TokenService {
@@ -20,12 +31,26 @@ public class DefaultTokenService implements TokenService {
     private static final String TOKEN_TYPE = "JWT";
     private static final String ALGORITHM = "HS256";
 
-    @Value("${jwt.secret:your-secret-key-change-in-production}")
-    private String jwtSecret;
+    // The header never changes, so it is encoded once
+    private static final byte[] ENCODED_HEADER = Base64.getUrlEncoder().withoutPadding()
+            .encode(("{\"alg\":\"" + ALGORITHM + "\",\"typ\":\"" + TOKEN_TYPE + "\"}")
+                    .getBytes(StandardCharsets.UTF_8));
+
+    private static final byte[] BASE64_URL_ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_"
+            .getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    private final HmacSha256Signer signer;
 
     @Value("${jwt.expiration:86400000}")
     private long jwtExpirationMs;
 
+    public DefaultTokenService(HmacSha256Signer signer) {
+        this.signer = signer;
+    }
+
     @Override
     public String generateToken(Long networkId) {
         return generateToken(networkId, "user-" + networkId);
@@ -34,51 +59,169 @@ public class DefaultTokenService implements TokenService {
     @Override
     public String generateToken(Long networkId, String userId) {
         try {
-            // Create header
-            String header = createHeader();
-
-            // Create payload with networkId and userId
-            String payload = createPayload(networkId, userId);
-
-            // Create signature (simplified - not cryptographically secure for production)
-            String signature = createSignature(header, payload);
-
-            // Combine all parts
-            return header + "." + payload + "." + signature;
+            return mint(networkId, userId, System.currentTimeMillis() / 1000);
         } catch (Exception e) {
             throw new RuntimeException("Failed to generate JWT token", e);
         }
     }
 
-    private String createHeader() throws Exception {
-        String header = "{\"alg\":\"" + ALGORITHM + "\",\"typ\":\"" + TOKEN_TYPE + "\"}";
-        return base64UrlEncode(header);
+    @Override
+    public List<String> generateTokens(List<TokenRequest> requests) {
+        try {
+            // All tokens of a batch are issued at the same second
+            long issuedAt = System.currentTimeMillis() / 1000;
+            List<String> tokens = new ArrayList<>(requests.size());
+            for (TokenRequest request : requests) {
+                String userId = request.getUserId() != null && !request.getUserId().isBlank() ? request.getUserId()
+                        : "user-" + request.getNetworkId();
+                tokens.add(mint(request.getNetworkId(), userId, issuedAt));
+            }
+            return tokens;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to generate JWT tokens", e);
+        }
     }
 
-    private String createPayload(Long networkId, String userId) throws Exception {
-        long now = System.currentTimeMillis();
-        long expirationTime = now + jwtExpirationMs;
-
-        String payload = "{" +
-                "\"sub\":\"" + userId + "\"," +
-                "\"networkId\":" + networkId + "," +
-                "\"iat\":" + (now / 1000) + "," +
-                "\"exp\":" + (expirationTime / 1000) +
-                "}";
-
-        return base64UrlEncode(payload);
+    /**
+     * Writes a signed token
+     *
+     * @param networkId the network ID claim
+     * @param userId    the subject claim
+     * @param issuedAt  the issue time, in seconds since the epoch
+     * @return the token
+     */
+    private String mint(Long networkId, String userId, long issuedAt) {
+        Buffers buffers = BUFFERS.get();
+
+        // Payload with networkId and userId
+        ByteWriter payload = buffers.payload.reset();
+        payload.ascii("{\"sub\":\"").jsonString(userId)
+                .ascii("\",\"networkId\":").ascii(String.valueOf(networkId))
+                .ascii(",\"iat\":").number(issuedAt)
+                .ascii(",\"exp\":").number(issuedAt + jwtExpirationMs / 1000)
+                .write('}');
+
+        // {header}.{payload}, signed, then .{signature}
+        ByteWriter token = buffers.token.reset();
+        token.bytes(ENCODED_HEADER, ENCODED_HEADER.length).write('.')
+                .base64Url(payload.buffer, payload.length);
+        byte[] signature = signer.sign(token.buffer, token.length);
+        token.write('.').base64Url(signature, signature.length);
+
+        // Only ASCII: Latin-1 decoding is a plain copy into a compact string
+        return new String(token.buffer, 0, token.length, StandardCharsets.ISO_8859_1);
     }
 
-    private String createSignature(String header, String payload) throws Exception {
-        // Simple signature creation - use HMAC-SHA256 in production
-        String message = header + "." + payload;
-        String signature = Integer.toHexString((message + jwtSecret).hashCode());
-        return base64UrlEncode(signature);
+    private static final class Buffers {
+        private final ByteWriter payload = new ByteWriter(256);
+        private final ByteWriter token = new ByteWriter(512);
     }
 
-    private String base64UrlEncode(String input) {
-        return Base64.getUrlEncoder()
-                .withoutPadding()
-                .encodeToString(input.getBytes());
+    /**
+     * Growable byte buffer reused across tokens
+     */
+    private static final class ByteWriter {
+
+        private byte[] buffer;
+        private int length;
+
+        private ByteWriter(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        private ByteWriter reset() {
+            length = 0;
+            return this;
+        }
+
+        private ByteWriter write(int b) {
+            ensureCapacity(1);
+            buffer[length++] = (byte) b;
+            return this;
+        }
+
+        private ByteWriter bytes(byte[] bytes, int count) {
+            ensureCapacity(count);
+            System.arraycopy(bytes, 0, buffer, length, count);
+            length += count;
+            return this;
+        }
+
+        private ByteWriter ascii(String text) {
+            ensureCapacity(text.length());
+            for (int i = 0; i < text.length(); i++) {
+                buffer[length++] = (byte) text.charAt(i);
+            }
+            return this;
+        }
+
+        private ByteWriter number(long value) {
+            return ascii(Long.toString(value));
+        }
+
+        /**
+         * Writes the content of a JSON string (without quotes) as UTF-8
+         */
+        private ByteWriter jsonString(String text) {
+            ensureCapacity(text.length() * 3);
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '"' || c == '\\') {
+                    write('\\').write(c);
+                } else if (c < 0x20) {
+                    write('\\').write('u').write('0').write('0').write(HEX_DIGITS[c >> 4]).write(HEX_DIGITS[c & 0xF]);
+                } else if (c < 0x80) {
+                    write(c);
+                } else if (c < 0x800) {
+                    write(0xC0 | (c >> 6)).write(0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < text.length()
+                        && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                    write(0xF0 | (codePoint >> 18)).write(0x80 | ((codePoint >> 12) & 0x3F))
+                            .write(0x80 | ((codePoint >> 6) & 0x3F)).write(0x80 | (codePoint & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    // Unpaired surrogate, as String.getBytes does
+                    write('?');
+                } else {
+                    write(0xE0 | (c >> 12)).write(0x80 | ((c >> 6) & 0x3F)).write(0x80 | (c & 0x3F));
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Writes bytes base64url encoded, without padding
+         */
+        private ByteWriter base64Url(byte[] source, int count) {
+            ensureCapacity((count + 2) / 3 * 4);
+            int i = 0;
+            for (; i + 2 < count; i += 3) {
+                int bits = (source[i] & 0xFF) << 16 | (source[i + 1] & 0xFF) << 8 | (source[i + 2] & 0xFF);
+                buffer[length++] = BASE64_URL_ALPHABET[bits >>> 18];
+                buffer[length++] = BASE64_URL_ALPHABET[(bits >>> 12) & 0x3F];
+                buffer[length++] = BASE64_URL_ALPHABET[(bits >>> 6) & 0x3F];
+                buffer[length++] = BASE64_URL_ALPHABET[bits & 0x3F];
+            }
+            int remaining = count - i;
+            if (remaining == 1) {
+                int bits = (source[i] & 0xFF) << 16;
+                buffer[length++] = BASE64_URL_ALPHABET[bits >>> 18];
+                buffer[length++] = BASE64_URL_ALPHABET[(bits >>> 12) & 0x3F];
+            } else if (remaining == 2) {
+                int bits = (source[i] & 0xFF) << 16 | (source[i + 1] & 0xFF) << 8;
+                buffer[length++] = BASE64_URL_ALPHABET[bits >>> 18];
+                buffer[length++] = BASE64_URL_ALPHABET[(bits >>> 12) & 0x3F];
+                buffer[length++] = BASE64_URL_ALPHABET[(bits >>> 6) & 0x3F];
+            }
+            return this;
+        }
+
+        private void ensureCapacity(int additional) {
+            if (length + additional > buffer.length) {
+                byte[] grown = new byte[Math.max(buffer.length * 2, length + additional)];
+                System.arraycopy(buffer, 0, grown, 0, length);
+                buffer = grown;
+            }
+        }
     }
 }
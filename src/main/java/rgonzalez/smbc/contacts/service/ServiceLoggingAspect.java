@@ -1,5 +1,8 @@
 package rgonzalez.smbc.contacts.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
@@ -8,14 +11,39 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
+import rgonzalez.smbc.contacts.logging.LogArgumentRenderer;
+import rgonzalez.smbc.contacts.logging.LogSampler;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Logs service calls and times them as contacts.service.calls{class, method}, with
+ * a percentile histogram, so percentiles can be aggregated across instances
+ * at query time; failures are counted as contacts.service.errors{class, method, exception}.
+ *
+ * Calls are logged at INFO for the share of calls set by {@link LogSampler},
+ * with arguments rendered (redacted and truncated) by
+ * {@link LogArgumentRenderer} only when logged; failures are always logged.
+ */
 @Aspect
 @Component
 public class ServiceLoggingAspect {
 
     private static final Logger logger = LoggerFactory.getLogger(ServiceLoggingAspect.class);
 
+    private final MeterRegistry meterRegistry;
+    private final LogArgumentRenderer argumentRenderer;
+    private final LogSampler logSampler;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public ServiceLoggingAspect(MeterRegistry meterRegistry, LogArgumentRenderer argumentRenderer,
+            LogSampler logSampler) {
+        this.meterRegistry = meterRegistry;
+        this.argumentRenderer = argumentRenderer;
+        this.logSampler = logSampler;
+    }
+
     /**
      * Pointcut that matches all public methods in classes within the service
      * package
@@ -36,24 +64,53 @@ public class ServiceLoggingAspect {
     public Object logServiceMethods(ProceedingJoinPoint joinPoint) throws Throwable {
         String serviceName = joinPoint.getTarget().getClass().getSimpleName();
         String methodName = joinPoint.getSignature().getName();
-        Object[] args = joinPoint.getArgs();
+        boolean logged = logger.isInfoEnabled() && logSampler.isSampled(serviceName, methodName);
 
-        logger.info("Entering Service - Class: {}, Method: {}, Parameters: {}",
-                serviceName, methodName, Arrays.toString(args));
+        if (logged) {
+            logger.info("Entering Service - Class: {}, Method: {}, Parameters: {}",
+                    serviceName, methodName, argumentRenderer.render(joinPoint.getArgs()));
+        }
 
-        long startTime = System.currentTimeMillis();
+        Timer.Sample sample = Timer.start(meterRegistry);
 
         try {
             Object result = joinPoint.proceed();
-            long executionTime = System.currentTimeMillis() - startTime;
-            logger.info("Exiting Service - Class: {}, Method: {}, Execution Time: {}ms",
-                    serviceName, methodName, executionTime);
+            long executionTime = stop(sample, serviceName, methodName);
+            if (logged) {
+                logger.info("Exiting Service - Class: {}, Method: {}, Execution Time: {}ms",
+                        serviceName, methodName, executionTime);
+            }
             return result;
         } catch (Throwable throwable) {
-            long executionTime = System.currentTimeMillis() - startTime;
+            long executionTime = stop(sample, serviceName, methodName);
+            errorCounter(serviceName, methodName, throwable).increment();
             logger.error("Exception in Service - Class: {}, Method: {}, Execution Time: {}ms, Error: {}",
                     serviceName, methodName, executionTime, throwable.getMessage(), throwable);
             throw throwable;
         }
     }
+
+    /**
+     * Records the duration of a call
+     *
+     * @return the duration, in milliseconds
+     */
+    private long stop(Timer.Sample sample, String className, String methodName) {
+        Timer timer = timers.computeIfAbsent(className + "." + methodName, key -> Timer.builder("contacts.service.calls")
+                .tag("class", className)
+                .tag("method", methodName)
+                .description("Service method execution time")
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        return sample.stop(timer) / 1_000_000;
+    }
+
+    private Counter errorCounter(String className, String methodName, Throwable throwable) {
+        return Counter.builder("contacts.service.errors")
+                .tag("class", className)
+                .tag("method", methodName)
+                .tag("exception", throwable.getClass().getSimpleName())
+                .description("Service method calls that threw an exception")
+                .register(meterRegistry);
+    }
 }
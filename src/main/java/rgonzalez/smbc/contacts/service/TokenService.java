@@ -1,5 +1,9 @@
 package rgonzalez.smbc.contacts.service;
 
+import java.util.List;
+
+import rgonzalez.smbc.contacts.model.dto.TokenRequest;
+
 /**
  * Service for generating JWT tokens.
  * Generates tokens based on networkId that can be validated by
@@ -23,4 +27,13 @@ public interface TokenService {
      * @return a JWT token string
      */
     String generateToken(Long networkId, String userId);
+
+    /**
+     * Generates one JWT token per request, all issued at the same time.
+     * Requests without userId get the default user of their networkId.
+     *
+     * @param requests the networkId and optional userId of each token
+     * @return the JWT token strings, in request order
+     */
+    List<String> generateTokens(List<TokenRequest> requests);
 }
@@ -0,0 +1,124 @@
+package rgonzalez.smbc.contacts.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import rgonzalez.smbc.contacts.model.BusinessEvent.PayloadFormat;
+import rgonzalez.smbc.contacts.model.system.EventPayloadMode;
+
+class EventPayloadEncoderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final EventPayloadEncoder encoder = new EventPayloadEncoder(true, 3, 100);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void firstEventIsFullSnapshot() throws Exception {
+        EventPayloadEncoder.EncodedPayload payload = encode("e1", contact("Jane", "jane@example.com"));
+
+        assertThat(payload.format()).isEqualTo(PayloadFormat.FULL);
+        assertThat(payload.baseEventId()).isNull();
+        assertThat(objectMapper.readTree(payload.payload())).isEqualTo(contact("Jane", "jane@example.com"));
+    }
+
+    @Test
+    void storedVersionIsPatchedAgainst() throws Exception {
+        store("e1", contact("Jane", "jane@example.com"));
+
+        EventPayloadEncoder.EncodedPayload payload = encode("e2", contact("Janet", "jane@example.com"));
+
+        assertThat(payload.format()).isEqualTo(PayloadFormat.JSON_PATCH);
+        assertThat(payload.baseEventId()).isEqualTo("e1");
+        assertThat(objectMapper.readTree(payload.payload())).isEqualTo(
+                objectMapper.readTree("[{\"op\":\"replace\",\"path\":\"/name\",\"value\":\"Janet\"}]"));
+    }
+
+    @Test
+    void encodedVersionIsNotABaseUntilStored() throws Exception {
+        encode("e1", contact("Jane", "jane@example.com"));
+
+        assertThat(encode("e2", contact("Janet", "jane@example.com")).format()).isEqualTo(PayloadFormat.FULL);
+    }
+
+    @Test
+    void versionBecomesBaseOnlyAfterCommit() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        store("e1", contact("Jane", "jane@example.com"));
+
+        assertThat(encode("e2", contact("Janet", "jane@example.com")).format()).isEqualTo(PayloadFormat.FULL);
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertThat(encode("e2", contact("Janet", "jane@example.com")).baseEventId()).isEqualTo("e1");
+    }
+
+    @Test
+    void rolledBackVersionIsEvicted() throws Exception {
+        store("e1", contact("Jane", "jane@example.com"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        store("e2", contact("Janet", "jane@example.com"));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Neither e2 (never stored) nor e1 (possibly stale) is used as a base
+        assertThat(encode("e3", contact("Janet", "janet@example.com")).format()).isEqualTo(PayloadFormat.FULL);
+    }
+
+    @Test
+    void snapshotIsEmittedEverySnapshotInterval() throws Exception {
+        store("e1", contact("A", "a@example.com"));
+        assertThat(store("e2", contact("B", "a@example.com")).format()).isEqualTo(PayloadFormat.JSON_PATCH);
+        assertThat(store("e3", contact("C", "a@example.com")).format()).isEqualTo(PayloadFormat.JSON_PATCH);
+        assertThat(store("e4", contact("D", "a@example.com")).format()).isEqualTo(PayloadFormat.FULL);
+        assertThat(store("e5", contact("E", "a@example.com")).baseEventId()).isEqualTo("e4");
+    }
+
+    @Test
+    void fullModeAlwaysEmitsSnapshots() throws Exception {
+        store("e1", contact("Jane", "jane@example.com"));
+
+        EventPayloadEncoder.EncodedPayload payload = encoder.encode(objectMapper, "Contact", "1", "e2",
+                contact("Janet", "jane@example.com"), EventPayloadMode.FULL);
+
+        assertThat(payload.format()).isEqualTo(PayloadFormat.FULL);
+    }
+
+    private EventPayloadEncoder.EncodedPayload encode(String eventId, JsonNode document) throws Exception {
+        return encoder.encode(objectMapper, "Contact", "1", eventId, document, EventPayloadMode.DELTA);
+    }
+
+    private EventPayloadEncoder.EncodedPayload store(String eventId, JsonNode document) throws Exception {
+        EventPayloadEncoder.EncodedPayload payload = encode(eventId, document);
+        encoder.recordStored("Contact", "1", eventId, document, payload);
+        return payload;
+    }
+
+    private static void complete(int status) {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(status);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private JsonNode contact(String name, String email) {
+        return objectMapper.createObjectNode()
+                .put("id", 1)
+                .put("name", name)
+                .put("ssn", "123-45-6789")
+                .put("firstName", "Jane")
+                .put("lastName", "Doe")
+                .set("emails", objectMapper.createArrayNode().add(objectMapper.createObjectNode()
+                        .put("address", email).put("type", "personal")));
+    }
+}
@@ -0,0 +1,67 @@
+package rgonzalez.smbc.contacts.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+class JsonPatchGeneratorTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void equalDocumentsNeedNoOperations() throws Exception {
+        assertThat(diff("{\"a\":1,\"b\":[1,{\"c\":2}]}", "{\"b\":[1,{\"c\":2}],\"a\":1}")).isEqualTo(json("[]"));
+    }
+
+    @Test
+    void replacesChangedValuesAtTheirNestedPath() throws Exception {
+        assertThat(diff("{\"name\":\"Jane\",\"address\":{\"city\":\"Springfield\",\"zip\":\"1\"}}",
+                "{\"name\":\"Jane\",\"address\":{\"city\":\"Shelbyville\",\"zip\":\"1\"}}"))
+                .isEqualTo(json("[{\"op\":\"replace\",\"path\":\"/address/city\",\"value\":\"Shelbyville\"}]"));
+    }
+
+    @Test
+    void removesMissingMembersAndAddsNewOnes() throws Exception {
+        assertThat(diff("{\"a\":1,\"b\":2}", "{\"b\":2,\"c\":{\"d\":3}}"))
+                .isEqualTo(json("[{\"op\":\"remove\",\"path\":\"/a\"},"
+                        + "{\"op\":\"add\",\"path\":\"/c\",\"value\":{\"d\":3}}]"));
+    }
+
+    @Test
+    void appendsExtraArrayElements() throws Exception {
+        assertThat(diff("{\"emails\":[\"a\"]}", "{\"emails\":[\"a\",\"b\",\"c\"]}"))
+                .isEqualTo(json("[{\"op\":\"add\",\"path\":\"/emails/-\",\"value\":\"b\"},"
+                        + "{\"op\":\"add\",\"path\":\"/emails/-\",\"value\":\"c\"}]"));
+    }
+
+    @Test
+    void removesSurplusArrayElementsFromTheEnd() throws Exception {
+        assertThat(diff("[\"a\",\"b\",\"c\",\"d\"]", "[\"x\",\"b\"]"))
+                .isEqualTo(json("[{\"op\":\"replace\",\"path\":\"/0\",\"value\":\"x\"},"
+                        + "{\"op\":\"remove\",\"path\":\"/3\"},{\"op\":\"remove\",\"path\":\"/2\"}]"));
+    }
+
+    @Test
+    void replacesValuesWhoseTypeChanged() throws Exception {
+        assertThat(diff("{\"phones\":[\"1\"]}", "{\"phones\":{\"mobile\":\"1\"}}"))
+                .isEqualTo(json("[{\"op\":\"replace\",\"path\":\"/phones\",\"value\":{\"mobile\":\"1\"}}]"));
+        assertThat(diff("[1]", "{}")).isEqualTo(json("[{\"op\":\"replace\",\"path\":\"\",\"value\":{}}]"));
+    }
+
+    @Test
+    void escapesMemberNamesAsJsonPointerTokens() throws Exception {
+        assertThat(diff("{\"a/b\":1,\"c~d\":1}", "{\"a/b\":2,\"c~d\":2}"))
+                .isEqualTo(json("[{\"op\":\"replace\",\"path\":\"/a~1b\",\"value\":2},"
+                        + "{\"op\":\"replace\",\"path\":\"/c~0d\",\"value\":2}]"));
+    }
+
+    private JsonNode diff(String source, String target) throws Exception {
+        return JsonPatchGenerator.diff(json(source), json(target));
+    }
+
+    private JsonNode json(String json) throws Exception {
+        return objectMapper.readTree(json);
+    }
+}
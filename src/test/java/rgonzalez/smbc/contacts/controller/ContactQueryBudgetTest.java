@@ -0,0 +1,49 @@
+package rgonzalez.smbc.contacts.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import rgonzalez.smbc.contacts.dao.ContactRepository;
+import rgonzalez.smbc.contacts.dao.statistics.QueryBudget;
+import rgonzalez.smbc.contacts.model.Contact;
+import rgonzalez.smbc.contacts.service.TokenService;
+
+@SpringBootTest(properties = "contacts.jpa.statistics.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ContactQueryBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Test
+    void getContactStaysWithinItsQueryBudget() throws Exception {
+        Long id = contactRepository.save(new Contact.Builder()
+                .name("Jane Doe").firstName("Jane").lastName("Doe").ssn("123-45-6789")
+                .createdBy("test").createdTimestamp(LocalDateTime.now()).updatedBy("test")
+                .build()).getId();
+        String token = tokenService.generateToken(1L, "user");
+
+        // The contact, then one fetch per collection serialized in the response
+        QueryBudget.statements(4).entityLoads(1).collectionFetches(3).verify(() -> mockMvc
+                .perform(get("/api/v1/contacts/{id}", id).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(id)));
+    }
+}
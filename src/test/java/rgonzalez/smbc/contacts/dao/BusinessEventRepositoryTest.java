@@ -0,0 +1,91 @@
+package rgonzalez.smbc.contacts.dao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import rgonzalez.smbc.contacts.model.BusinessEvent;
+import rgonzalez.smbc.contacts.model.dto.BusinessEventCursor;
+import rgonzalez.smbc.contacts.model.dto.BusinessEventSummary;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BusinessEventRepositoryTest {
+
+    @Autowired
+    private BusinessEventRepository businessEventRepository;
+
+    @Test
+    void historyIsScopedToTheAggregateType() {
+        String aggregateId = UUID.randomUUID().toString();
+        String contactEventId = save("Contact", aggregateId, "ContactCreated");
+        String otherEventId = save("Account", aggregateId, "AccountCreated");
+
+        List<BusinessEventSummary> history = businessEventRepository.findHistory("Contact", aggregateId, null,
+                null, null, null, 10);
+
+        assertThat(history).extracting(BusinessEventSummary::getEventId).containsExactly(contactEventId);
+        assertThat(businessEventRepository.findPayload("Contact", aggregateId, otherEventId)).isEmpty();
+        assertThat(businessEventRepository.findPayload("Contact", aggregateId, contactEventId)).isPresent();
+    }
+
+    @Test
+    void historyFiltersAreOnlyAppliedWhenGiven() {
+        String aggregateId = UUID.randomUUID().toString();
+        String created = save("Contact", aggregateId, "ContactCreated");
+        String updated = save("Contact", aggregateId, "ContactUpdated");
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThat(history(aggregateId, null, null, null)).containsExactly(updated, created);
+        assertThat(history(aggregateId, "ContactCreated", null, null)).containsExactly(created);
+        assertThat(history(aggregateId, null, now.minusHours(1), null)).containsExactly(updated, created);
+        assertThat(history(aggregateId, null, now.plusHours(1), null)).isEmpty();
+        assertThat(history(aggregateId, null, null, now.minusHours(1))).isEmpty();
+        assertThat(history(aggregateId, null, now.minusHours(1), now.plusHours(1))).containsExactly(updated,
+                created);
+    }
+
+    @Test
+    void historyPagesContinueAfterTheCursor() {
+        String aggregateId = UUID.randomUUID().toString();
+        save("Contact", aggregateId, "ContactCreated");
+        save("Contact", aggregateId, "ContactUpdated");
+        save("Contact", aggregateId, "ContactUpdated");
+        List<String> all = history(aggregateId, null, null, null);
+
+        List<String> paged = new ArrayList<>();
+        BusinessEventCursor cursor = null;
+        for (int page = 0; page < all.size(); page++) {
+            BusinessEventSummary event = businessEventRepository
+                    .findHistory("Contact", aggregateId, null, cursor, null, null, 1).get(0);
+            paged.add(event.getEventId());
+            cursor = BusinessEventCursor.parse(BusinessEventCursor.of(event).toString());
+        }
+
+        assertThat(paged).hasSize(3).isEqualTo(all);
+        assertThat(businessEventRepository.findHistory("Contact", aggregateId, null, cursor, null, null, 1)).isEmpty();
+    }
+
+    private List<String> history(String aggregateId, String eventName, LocalDateTime from, LocalDateTime to) {
+        return businessEventRepository.findHistory("Contact", aggregateId, eventName, null, from, to, 10)
+                .stream().map(BusinessEventSummary::getEventId).toList();
+    }
+
+    private String save(String aggregateName, String aggregateId, String eventName) {
+        String eventId = UUID.randomUUID().toString();
+        BusinessEvent event = new BusinessEvent(eventId, aggregateId, aggregateName, eventName, "{}", "{}",
+                UUID.randomUUID().toString(), BusinessEvent.EventDirection.OUTBOUND);
+        event.getTraceable().setCreatedBy("test");
+        event.getTraceable().setUpdatedBy("test");
+        businessEventRepository.save(event);
+        return eventId;
+    }
+}
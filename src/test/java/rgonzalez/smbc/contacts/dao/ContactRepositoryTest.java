@@ -0,0 +1,49 @@
+package rgonzalez.smbc.contacts.dao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import rgonzalez.smbc.contacts.dao.ContactRepositoryCustom.SsnVerificationStatusUpdate;
+import rgonzalez.smbc.contacts.model.Contact;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ContactRepositoryTest {
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void olderVerificationResultDoesNotOverwriteNewerStatus() {
+        Long id = contactRepository.save(new Contact.Builder()
+                .name("Jane Doe").firstName("Jane").lastName("Doe").ssn("123-45-6789")
+                .createdBy("test").createdTimestamp(LocalDateTime.now()).updatedBy("test")
+                .build()).getId();
+
+        assertThat(update(id, "verified", 200L)).isEqualTo(1);
+        // A retried result verified before the applied one
+        assertThat(update(id, "failed-verification", 100L)).isZero();
+        assertThat(update(id, "failed-verification", 300L)).isEqualTo(1);
+
+        Contact contact = contactRepository.findById(id).orElseThrow();
+        assertThat(contact.getSsnVerificationStatus()).isEqualTo("failed-verification");
+        assertThat(contact.getSsnVerificationTimestamp()).isEqualTo(300L);
+    }
+
+    private int update(Long id, String status, long verificationTimestamp) {
+        return transactionTemplate.execute(tx -> contactRepository.updateSsnVerificationStatus(
+                List.of(new SsnVerificationStatusUpdate(id, status, verificationTimestamp)), "test",
+                LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,88 @@
+package rgonzalez.smbc.contacts.dao.statistics;
+
+/**
+ * Fails a test when a call does more database work than declared, e.g.
+ *
+ * <pre>
+ * QueryBudget.statements(2).collectionFetches(0).verify(() -&gt; contactController.getContact(1L));
+ * </pre>
+ *
+ * The call must run on the test thread (a controller or service call, or
+ * MockMvc) with contacts.jpa.statistics.enabled=true.
+ */
+public final class QueryBudget {
+
+    private final int maxStatements;
+    private int maxEntityLoads = Integer.MAX_VALUE;
+    private int maxCollectionFetches = Integer.MAX_VALUE;
+
+    private QueryBudget(int maxStatements) {
+        this.maxStatements = maxStatements;
+    }
+
+    /**
+     * @param maxStatements maximum JDBC statements the call may execute
+     * @return the budget
+     */
+    public static QueryBudget statements(int maxStatements) {
+        return new QueryBudget(maxStatements);
+    }
+
+    /**
+     * @param maxEntityLoads maximum entities the call may load
+     * @return this budget
+     */
+    public QueryBudget entityLoads(int maxEntityLoads) {
+        this.maxEntityLoads = maxEntityLoads;
+        return this;
+    }
+
+    /**
+     * @param maxCollectionFetches maximum lazy collections the call may fetch
+     * @return this budget
+     */
+    public QueryBudget collectionFetches(int maxCollectionFetches) {
+        this.maxCollectionFetches = maxCollectionFetches;
+        return this;
+    }
+
+    /**
+     * Runs a call and checks its database work against the budget
+     *
+     * @param call the call
+     * @return the result of the call
+     * @throws AssertionError if the budget is exceeded or query statistics are
+     *                        not enabled
+     */
+    public <T> T verify(Call<T> call) throws Exception {
+        if (!RequestQueryStatistics.isEnabled()) {
+            throw new AssertionError("Query budgets need contacts.jpa.statistics.enabled=true");
+        }
+        RequestQueryStatistics statistics = RequestQueryStatistics.start();
+        T result;
+        try {
+            result = call.call();
+        } finally {
+            RequestQueryStatistics.stop(statistics);
+        }
+        if (statistics.getStatements() > maxStatements || statistics.getEntityLoads() > maxEntityLoads
+                || statistics.getCollectionFetches() > maxCollectionFetches) {
+            throw new AssertionError("Query budget exceeded: executed " + statistics + ", budget " + maxStatements
+                    + " statements" + limit(maxEntityLoads, "entity loads")
+                    + limit(maxCollectionFetches, "collection fetches"));
+        }
+        return result;
+    }
+
+    private static String limit(int max, String what) {
+        return max == Integer.MAX_VALUE ? "" : ", " + max + " " + what;
+    }
+
+    /**
+     * A call whose database work is measured
+     */
+    @FunctionalInterface
+    public interface Call<T> {
+        T call() throws Exception;
+    }
+}
@@ -0,0 +1,43 @@
+package rgonzalez.smbc.contacts.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.Serializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.kafka.autoconfigure.KafkaProperties;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import rgonzalez.smbc.contacts.model.BusinessEvent;
+import rgonzalez.smbc.contacts.model.Traceable;
+
+class KafkaProducerConfigTest {
+
+    @Test
+    void jsonBusinessEventsKeepTheirDocumentFormat() {
+        KafkaProducerConfig config = new KafkaProducerConfig();
+        ReflectionTestUtils.setField(config, "businessEventFormat", "json");
+        ReflectionTestUtils.setField(config, "businessEventCompression", "none");
+        DefaultKafkaProducerFactory<String, BusinessEvent> producerFactory =
+                (DefaultKafkaProducerFactory<String, BusinessEvent>) config
+                        .businessEventProducerFactory(new KafkaProperties());
+
+        BusinessEvent event = new BusinessEvent("event-1", "42", "Contact", "ContactCreated", "{\"id\":42}",
+                "contact-contactcreated", null, BusinessEvent.EventDirection.OUTBOUND);
+        LocalDateTime timestamp = LocalDateTime.of(2026, 1, 2, 3, 4, 5);
+        event.setTraceable(new Traceable("system", timestamp, "system", timestamp));
+
+        RecordHeaders headers = new RecordHeaders();
+        Serializer<BusinessEvent> serializer = producerFactory.getValueSerializerSupplier().get();
+        String json = new String(serializer.serialize("contacts", headers, event), StandardCharsets.UTF_8);
+
+        assertThat(json).contains("\"eventId\":\"event-1\"", "\"eventPayload\":\"{\\\"id\\\":42}\"",
+                "\"createdTimestamp\":[2026,1,2,3,4,5]");
+        assertThat(new String(headers.lastHeader("__TypeId__").value(), StandardCharsets.UTF_8))
+                .isEqualTo(BusinessEvent.class.getName());
+    }
+}
@@ -0,0 +1,61 @@
+package rgonzalez.smbc.contacts.events.inbound;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import rgonzalez.smbc.contacts.model.SsnVerificationResult;
+
+/**
+ * Records per second read by {@link SsnVerificationMessageDeserializer}
+ * against the generic JSON deserializer it replaced, which resolved the type
+ * header of each record and bound it reflectively into the entity.
+ */
+@SuppressWarnings("removal")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SsnVerificationMessageDeserializerBenchmark {
+
+    private static final String TOPIC = "customer-ssn-verified";
+
+    private final byte[] value = ("{\"contactId\":\"12345\",\"ssn\":\"123-45-6789\",\"firstName\":\"Jane\","
+            + "\"lastName\":\"Doe\",\"status\":\"VERIFIED\",\"matching\":true,\"message\":\"SSN matches the name\","
+            + "\"verificationSource\":\"integration-api\",\"verificationTimestamp\":1700000000000}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final RecordHeaders headers = new RecordHeaders();
+    private final SsnVerificationMessageDeserializer bound = new SsnVerificationMessageDeserializer();
+    // The configuration replaced by the bound deserializer, kept here as the baseline
+    private final JsonDeserializer<SsnVerificationResult> generic = new JsonDeserializer<>(
+            SsnVerificationResult.class, true);
+
+    public SsnVerificationMessageDeserializerBenchmark() {
+        generic.addTrustedPackages("*");
+        headers.add("__TypeId__", SsnVerificationResult.class.getName().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public SsnVerificationMessage boundToMessageType() {
+        return bound.deserialize(TOPIC, headers, value);
+    }
+
+    @Benchmark
+    public SsnVerificationResult genericWithTypeHeaders() {
+        return generic.deserialize(TOPIC, headers, value);
+    }
+}
@@ -0,0 +1,62 @@
+package rgonzalez.smbc.contacts.events.inbound;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import rgonzalez.smbc.contacts.dao.ContactRepository;
+import rgonzalez.smbc.contacts.dao.ContactRepositoryCustom.SsnVerificationStatusUpdate;
+import rgonzalez.smbc.contacts.dao.SsnVerificationResultRepository;
+import rgonzalez.smbc.contacts.model.SsnVerificationResult;
+
+class SsnVerificationProcessorTest {
+
+    private final SsnVerificationResultRepository resultRepository = mock(SsnVerificationResultRepository.class);
+    private final ContactRepository contactRepository = mock(ContactRepository.class);
+    private final InboundMessageDeduplicator deduplicator = mock(InboundMessageDeduplicator.class);
+    private final ConsumerOffsetStore consumerOffsetStore = mock(ConsumerOffsetStore.class);
+    private SsnVerificationProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        processor = new SsnVerificationProcessor(resultRepository, contactRepository, deduplicator,
+                consumerOffsetStore, new SimpleMeterRegistry());
+        when(resultRepository.findExistingMessageIds(anyCollection())).thenReturn(List.of());
+        when(resultRepository.insertAll(anyList())).thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+    }
+
+    @Test
+    void latestResultOfEachContactDecidesItsStatus() {
+        processor.processBatch(List.of(
+                result(1, "m1", true, 300L),
+                result(1, "m2", false, 200L),
+                result(2, "m3", false, 100L),
+                result(2, "m4", true, 400L)));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SsnVerificationStatusUpdate>> updates = ArgumentCaptor.forClass(List.class);
+        verify(contactRepository).updateSsnVerificationStatus(updates.capture(), any(), any());
+        assertThat(updates.getValue()).containsExactly(
+                new SsnVerificationStatusUpdate(1L, SsnVerificationProcessor.STATUS_VERIFIED, 300L),
+                new SsnVerificationStatusUpdate(2L, SsnVerificationProcessor.STATUS_VERIFIED, 400L));
+    }
+
+    private static SsnVerificationResult result(long contactId, String messageId, boolean matching,
+            long verificationTimestamp) {
+        SsnVerificationResult result = new SsnVerificationResult(String.valueOf(contactId), "123-45-6789", "First",
+                "Last", matching ? "VERIFIED" : "FAILED", matching, "", "test", verificationTimestamp);
+        result.setMessageId(messageId);
+        return result;
+    }
+}
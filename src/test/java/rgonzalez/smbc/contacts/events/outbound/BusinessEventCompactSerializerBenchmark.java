@@ -0,0 +1,64 @@
+package rgonzalez.smbc.contacts.events.outbound;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.JacksonMapperUtils;
+import org.springframework.kafka.support.serializer.JacksonJsonSerializer;
+
+import rgonzalez.smbc.contacts.model.BusinessEvent;
+import tools.jackson.databind.cfg.DateTimeFeature;
+
+/**
+ * Serialization throughput of {@link BusinessEventCompactSerializer} against
+ * the JSON serializer of the business event producer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BusinessEventCompactSerializerBenchmark {
+
+    private static final String TOPIC = "contacts";
+
+    private final BusinessEventCompactSerializer compact = new BusinessEventCompactSerializer();
+    private final JacksonJsonSerializer<BusinessEvent> json = new JacksonJsonSerializer<>(
+            JacksonMapperUtils.enhancedJsonMapper().rebuild().enable(DateTimeFeature.WRITE_DATES_AS_TIMESTAMPS)
+                    .build());
+    private BusinessEvent event;
+
+    @Setup
+    public void setUp() {
+        event = new BusinessEvent(UUID.randomUUID().toString(), "12345", "Contact", "ContactUpdated",
+                "{\"id\":12345,\"name\":\"Jane Doe\",\"firstName\":\"Jane\",\"lastName\":\"Doe\","
+                        + "\"ssn\":\"123-45-6789\",\"ssnVerificationStatus\":\"verified\","
+                        + "\"emails\":[{\"email\":\"jane.doe@example.com\",\"type\":\"work\"}],"
+                        + "\"phones\":[{\"number\":\"+1 555 0100\",\"type\":\"mobile\"}],"
+                        + "\"addresses\":[{\"street\":\"1 Main St\",\"city\":\"Springfield\",\"zip\":\"12345\"}]}",
+                "contact-contactupdated", UUID.randomUUID().toString(), BusinessEvent.EventDirection.OUTBOUND);
+        event.getTraceable().setCreatedBy("jdoe");
+    }
+
+    @Benchmark
+    public byte[] compact() {
+        return compact.serialize(TOPIC, new RecordHeaders(), event);
+    }
+
+    @Benchmark
+    public byte[] json() {
+        return json.serialize(TOPIC, new RecordHeaders(), event);
+    }
+}
@@ -0,0 +1,142 @@
+package rgonzalez.smbc.contacts.events.outbound;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.JacksonMapperUtils;
+import org.springframework.kafka.support.serializer.JacksonJsonSerializer;
+
+import rgonzalez.smbc.contacts.model.BusinessEvent;
+import tools.jackson.databind.cfg.DateTimeFeature;
+
+class BusinessEventCompactSerializerTest {
+
+    private final BusinessEventCompactSerializer serializer = new BusinessEventCompactSerializer();
+
+    @Test
+    void writesThePayloadAsTheValueAndTheMetadataAsAHeader() {
+        BusinessEvent event = event("{\"name\":\"Zoë\"}");
+        Headers headers = new RecordHeaders();
+
+        byte[] value = serializer.serialize("contacts", headers, event);
+
+        assertThat(new String(value, StandardCharsets.UTF_8)).isEqualTo("{\"name\":\"Zoë\"}");
+        assertThat(headers.headers(BusinessEventCompactSerializer.ENVELOPE_HEADER)).hasSize(1);
+        BusinessEvent decoded = BusinessEventCompactSerializer.decodeEnvelope("42",
+                headers.lastHeader(BusinessEventCompactSerializer.ENVELOPE_HEADER).value(), value);
+
+        assertThat(decoded.getAggregateId()).isEqualTo("42");
+        assertThat(decoded.getEventId()).isEqualTo(event.getEventId());
+        assertThat(decoded.getAggregateName()).isEqualTo("Contact");
+        assertThat(decoded.getEventName()).isEqualTo("ContactUpdated");
+        assertThat(decoded.getSchemaVersion()).isEqualTo("contact-contactupdated");
+        assertThat(decoded.getPayloadFormat()).isEqualTo(BusinessEvent.PayloadFormat.JSON_PATCH);
+        assertThat(decoded.getBaseEventId()).isEqualTo("base-1");
+        assertThat(decoded.getCorrelationId()).isEqualTo("correlation-1");
+        assertThat(decoded.getEventDirection()).isEqualTo(BusinessEvent.EventDirection.OUTBOUND);
+        assertThat(decoded.getTraceable().getCreatedBy()).isEqualTo("jdoe");
+        assertThat(decoded.getEventPayload()).isEqualTo(event.getEventPayload());
+    }
+
+    @Test
+    void keepsNullFieldsApartFromEmptyOnes() {
+        BusinessEvent event = new BusinessEvent("e1", "42", "", "ContactCreated", null, null, null, null);
+        Headers headers = new RecordHeaders();
+
+        byte[] value = serializer.serialize("contacts", headers, event);
+        BusinessEvent decoded = BusinessEventCompactSerializer.decodeEnvelope("42",
+                headers.lastHeader(BusinessEventCompactSerializer.ENVELOPE_HEADER).value(), value);
+
+        assertThat(value).isEmpty();
+        assertThat(decoded.getAggregateName()).isEmpty();
+        assertThat(decoded.getSchemaVersion()).isNull();
+        assertThat(decoded.getBaseEventId()).isNull();
+        assertThat(decoded.getCorrelationId()).isNull();
+        assertThat(decoded.getEventDirection()).isNull();
+        assertThat(decoded.getTraceable().getCreatedBy()).isNull();
+    }
+
+    @Test
+    void encodesLongFieldsWithMultiByteLengths() {
+        BusinessEvent event = event("{}");
+        event.setCorrelationId("c".repeat(300));
+
+        BusinessEvent decoded = BusinessEventCompactSerializer.decodeEnvelope("42",
+                BusinessEventCompactSerializer.encodeEnvelope(event), new byte[0]);
+
+        assertThat(decoded.getCorrelationId()).isEqualTo("c".repeat(300));
+        assertThat(decoded.getTraceable().getCreatedBy()).isEqualTo("jdoe");
+    }
+
+    @Test
+    void replacesAnEnvelopeAlreadyInTheHeaders() {
+        Headers headers = new RecordHeaders();
+
+        serializer.serialize("contacts", headers, event("{}"));
+        serializer.serialize("contacts", headers, event("{}"));
+
+        assertThat(headers.headers(BusinessEventCompactSerializer.ENVELOPE_HEADER)).hasSize(1);
+    }
+
+    @Test
+    void requiresHeaders() {
+        assertThatThrownBy(() -> serializer.serialize("contacts", event("{}")))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void rejectsUnknownVersionsAndTruncatedEnvelopes() {
+        byte[] envelope = BusinessEventCompactSerializer.encodeEnvelope(event("{}"));
+        byte[] otherVersion = envelope.clone();
+        otherVersion[0] = 2;
+
+        assertThatThrownBy(() -> BusinessEventCompactSerializer.decodeEnvelope("42", otherVersion, null))
+                .isInstanceOf(SerializationException.class);
+        assertThatThrownBy(() -> BusinessEventCompactSerializer.decodeEnvelope("42",
+                Arrays.copyOf(envelope, envelope.length - 2), null))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void putsFewerBytesOnTheWireThanJson() {
+        JacksonJsonSerializer<BusinessEvent> json = new JacksonJsonSerializer<>(JacksonMapperUtils
+                .enhancedJsonMapper().rebuild().enable(DateTimeFeature.WRITE_DATES_AS_TIMESTAMPS).build());
+        BusinessEvent event = event("{\"id\":42,\"firstName\":\"Jane\",\"lastName\":\"Doe\","
+                + "\"emails\":[{\"email\":\"jane.doe@example.com\",\"type\":\"work\"}]}");
+        Headers compactHeaders = new RecordHeaders();
+        Headers jsonHeaders = new RecordHeaders();
+
+        int compactSize = wireSize(serializer.serialize("contacts", compactHeaders, event), compactHeaders);
+        int jsonSize = wireSize(json.serialize("contacts", jsonHeaders, event), jsonHeaders);
+
+        assertThat(compactSize).isLessThan(jsonSize);
+    }
+
+    /**
+     * @return the bytes of a record value and headers, before batch compression
+     */
+    private static int wireSize(byte[] value, Headers headers) {
+        int size = value.length;
+        for (Header header : headers) {
+            size += header.key().getBytes(StandardCharsets.UTF_8).length + header.value().length;
+        }
+        return size;
+    }
+
+    private static BusinessEvent event(String payload) {
+        BusinessEvent event = new BusinessEvent("event-1", "42", "Contact", "ContactUpdated", payload,
+                "contact-contactupdated", "correlation-1", BusinessEvent.EventDirection.OUTBOUND);
+        event.setPayloadFormat(BusinessEvent.PayloadFormat.JSON_PATCH);
+        event.setBaseEventId("base-1");
+        event.getTraceable().setCreatedBy("jdoe");
+        return event;
+    }
+}
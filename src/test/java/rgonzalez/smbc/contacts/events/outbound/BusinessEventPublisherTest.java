@@ -0,0 +1,75 @@
+package rgonzalez.smbc.contacts.events.outbound;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import rgonzalez.smbc.contacts.model.BusinessEvent;
+
+class BusinessEventPublisherTest {
+
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, BusinessEvent> kafkaTemplate = mock(KafkaTemplate.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BusinessEventPublisher publisher = new BusinessEventPublisher(kafkaTemplate, meterRegistry,
+            10, 100, 1, 10, 100);
+
+    @Test
+    void redriveRequeuesEventsFailingSynchronouslyAgain() {
+        when(kafkaTemplate.send(anyString(), anyString(), any(BusinessEvent.class)))
+                .thenThrow(new TimeoutException("Topic contacts not present in metadata after 60000 ms"));
+
+        publisher.publish("contacts", "1", event("e1"));
+        publisher.publish("contacts", "2", event("e2"));
+        assertThat(gauge("contacts.events.publish.fallback.size")).isEqualTo(2);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), publisher::redriveFallback);
+
+        // One send per queued event, then both wait in the queue for the next pass
+        verify(kafkaTemplate, times(4)).send(anyString(), anyString(), any(BusinessEvent.class));
+        assertThat(gauge("contacts.events.publish.fallback.size")).isEqualTo(2);
+        assertThat(meterRegistry.get("contacts.events.publish").tag("outcome", "dropped").counter().count())
+                .isZero();
+    }
+
+    @Test
+    void requeuedEventsArePublishedOnceTheBrokerIsBack() {
+        when(kafkaTemplate.send(anyString(), anyString(), any(BusinessEvent.class)))
+                .thenThrow(new TimeoutException("Topic contacts not present in metadata after 60000 ms"))
+                .thenThrow(new TimeoutException("Topic contacts not present in metadata after 60000 ms"))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        publisher.publish("contacts", "1", event("e1"));
+        publisher.redriveFallback();
+        assertThat(gauge("contacts.events.publish.fallback.size")).isEqualTo(1);
+
+        publisher.redriveFallback();
+
+        assertThat(gauge("contacts.events.publish.fallback.size")).isZero();
+        assertThat(meterRegistry.get("contacts.events.publish").tag("outcome", "success").counter().count())
+                .isEqualTo(1);
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    private static BusinessEvent event(String eventId) {
+        return new BusinessEvent(eventId, "1", "Contact", "ContactCreated", "{}", "contact-contactcreated", null,
+                BusinessEvent.EventDirection.OUTBOUND);
+    }
+}
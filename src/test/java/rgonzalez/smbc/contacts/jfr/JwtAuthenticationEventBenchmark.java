@@ -0,0 +1,78 @@
+package rgonzalez.smbc.contacts.jfr;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import jdk.jfr.Recording;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of emitting a {@link JwtAuthenticationEvent} the way
+ * JwtAuthenticationFilter does, with no recording running (the production
+ * default, which should cost about nothing over the baseline) and while a
+ * recording has the event enabled.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationEventBenchmark {
+
+    @Param({ "false", "true" })
+    private boolean recording;
+
+    private Recording jfr;
+    private final String uri = "/api/v1/contacts/1";
+
+    @Setup
+    public void startRecording() {
+        if (recording) {
+            jfr = new Recording();
+            jfr.enable(JwtAuthenticationEvent.class).withThreshold(Duration.ZERO);
+            jfr.setToDisk(false);
+            jfr.start();
+        }
+    }
+
+    @TearDown
+    public void stopRecording() {
+        if (jfr != null) {
+            jfr.close();
+        }
+    }
+
+    @Benchmark
+    public int baseline() {
+        return uri.length();
+    }
+
+    @Benchmark
+    public int event() {
+        JwtAuthenticationEvent event = new JwtAuthenticationEvent();
+        event.begin();
+        int result = uri.length();
+        event.end();
+        if (event.shouldCommit()) {
+            event.uri = uri;
+            event.tokenPresent = true;
+            event.cacheHit = true;
+            event.authenticated = true;
+            event.authorities = 1;
+            event.commit();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,108 @@
+package rgonzalez.smbc.contacts.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnitUtil;
+import rgonzalez.smbc.contacts.model.Contact;
+
+class LogArgumentRendererTest {
+
+    private static final String[] REDACTED_FIELDS = { "ssn", "password", "secret", "token" };
+
+    private final LogArgumentRenderer renderer = renderer(256, REDACTED_FIELDS, null);
+
+    @Test
+    void redactsFieldValuesInEveryNotation() {
+        assertThat(renderer.renderNow(new Object[] {
+                "Contact{name='Jane', ssn='123-45-6789', city='Springfield'}",
+                "{\"ssn\":\"123-45-6789\",\"name\":\"Jane\"}",
+                "password=hunter2, user=jdoe",
+                "SSN : 123456789; Token=\"abc.def\"" }))
+                .isEqualTo("[Contact{name='Jane', ssn=***, city='Springfield'}, "
+                        + "{\"ssn\":***,\"name\":\"Jane\"}, "
+                        + "password=***, user=jdoe, "
+                        + "SSN : ***; Token=***]");
+    }
+
+    @Test
+    void leavesFieldsThatOnlyStartWithARedactedName() {
+        assertThat(renderer.renderNow(new Object[] { "ssnVerificationStatus=verified, tokens=2" }))
+                .isEqualTo("[ssnVerificationStatus=verified, tokens=2]");
+    }
+
+    @Test
+    void redactsNothingWithoutRedactedFields() {
+        LogArgumentRenderer unredacted = renderer(256, new String[] { " " }, null);
+
+        assertThat(unredacted.renderNow(new Object[] { "ssn=123-45-6789" })).isEqualTo("[ssn=123-45-6789]");
+    }
+
+    @Test
+    void truncatesLongValuesAfterRedacting() {
+        LogArgumentRenderer shortRenderer = renderer(20, REDACTED_FIELDS, null);
+
+        assertThat(shortRenderer.renderNow(new Object[] { "ssn=123-45-6789 " + "x".repeat(30) }))
+                .isEqualTo("[ssn=*** xxxxxxxxxxxx...(38 chars)]");
+    }
+
+    @Test
+    void rendersEntitiesAsTheirIdentifierWithoutToString() {
+        Contact contact = new Contact.Builder().name("Jane Doe").firstName("Jane").lastName("Doe")
+                .ssn("123-45-6789").build();
+        EntityManagerFactory factory = mock(EntityManagerFactory.class);
+        PersistenceUnitUtil persistenceUnitUtil = mock(PersistenceUnitUtil.class);
+        when(factory.getPersistenceUnitUtil()).thenReturn(persistenceUnitUtil);
+        when(persistenceUnitUtil.getIdentifier(any())).thenReturn(42L);
+
+        assertThat(renderer(256, REDACTED_FIELDS, factory).renderNow(new Object[] { contact }))
+                .isEqualTo("[Contact#42]");
+        assertThat(renderer.renderNow(new Object[] { contact })).isEqualTo("[Contact#?]");
+    }
+
+    @Test
+    void rendersContainersAsTheirSize() {
+        assertThat(renderer.renderNow(new Object[] { List.of("123-45-6789"), Map.of("ssn", "1"),
+                new String[] { "a", "b" }, null }))
+                .startsWith("[List")
+                .contains("[size=1], Map").contains("[size=1], String[2], null]")
+                .doesNotContain("123-45-6789");
+        assertThat(renderer.renderNow(null)).isEqualTo("null");
+    }
+
+    @Test
+    void rendersOnlyWhenFormatted() {
+        AtomicInteger renders = new AtomicInteger();
+        Object argument = new Object() {
+            @Override
+            public String toString() {
+                renders.incrementAndGet();
+                return "secret=s3cr3t";
+            }
+        };
+
+        Object rendered = renderer.render(new Object[] { argument });
+
+        assertThat(renders).hasValue(0);
+        assertThat(rendered).hasToString("[secret=***]");
+        assertThat(renders).hasValue(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static LogArgumentRenderer renderer(int maxLength, String[] redactedFields,
+            EntityManagerFactory factory) {
+        ObjectProvider<EntityManagerFactory> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(factory);
+        return new LogArgumentRenderer(maxLength, redactedFields, provider);
+    }
+}
@@ -0,0 +1,94 @@
+package rgonzalez.smbc.contacts.model.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CompressedTextConverterTest {
+
+    private final CompressedTextConverter converter = new CompressedTextConverter();
+
+    @BeforeEach
+    @AfterEach
+    void defaultSettings() {
+        CompressedTextConverter.configure(true, 256, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    @Test
+    void keepsNulls() {
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+
+    @Test
+    void storesSmallValuesRaw() {
+        String value = "{\"name\":\"Jane Doe\"}";
+
+        byte[] stored = converter.convertToDatabaseColumn(value);
+
+        assertThat(stored[0]).isEqualTo(CompressedTextConverter.FORMAT_RAW);
+        assertThat(converter.convertToEntityAttribute(stored)).isEqualTo(value);
+    }
+
+    @Test
+    void compressesLargeCompressibleValues() {
+        String value = "{\"emails\":[" + "{\"email\":\"jane.doe@example.com\",\"type\":\"work\"},".repeat(50)
+                + "{}],\"name\":\"Zoë Ñúñez 日本\"}";
+
+        byte[] stored = converter.convertToDatabaseColumn(value);
+
+        assertThat(stored[0]).isEqualTo(CompressedTextConverter.FORMAT_DEFLATE);
+        assertThat(stored.length).isLessThan(value.getBytes(StandardCharsets.UTF_8).length / 4);
+        assertThat(converter.convertToEntityAttribute(stored)).isEqualTo(value);
+    }
+
+    @Test
+    void storesRawWhenCompressionDoesNotPayOff() {
+        // Level 0 writes stored blocks, a few bytes larger than the input
+        CompressedTextConverter.configure(true, 256, Deflater.NO_COMPRESSION);
+        String value = "a".repeat(1000);
+
+        byte[] stored = converter.convertToDatabaseColumn(value);
+
+        assertThat(stored).hasSize(1001);
+        assertThat(stored[0]).isEqualTo(CompressedTextConverter.FORMAT_RAW);
+        assertThat(converter.convertToEntityAttribute(stored)).isEqualTo(value);
+    }
+
+    @Test
+    void storesRawWhenCompressionIsDisabled() {
+        CompressedTextConverter.configure(false, 256, Deflater.DEFAULT_COMPRESSION);
+        String value = "a".repeat(1000);
+
+        byte[] stored = converter.convertToDatabaseColumn(value);
+
+        assertThat(stored).hasSize(1001);
+        assertThat(stored[0]).isEqualTo(CompressedTextConverter.FORMAT_RAW);
+        assertThat(converter.convertToEntityAttribute(stored)).isEqualTo(value);
+    }
+
+    @Test
+    void readsValuesWrittenBeforeTheFormatMarker() {
+        String legacy = "{\"name\":\"Jane Doe\"}";
+
+        assertThat(converter.convertToEntityAttribute(legacy.getBytes(StandardCharsets.UTF_8))).isEqualTo(legacy);
+        assertThat(converter.convertToEntityAttribute(new byte[0])).isEmpty();
+    }
+
+    @Test
+    void rejectsTruncatedCompressedValues() {
+        byte[] stored = converter.convertToDatabaseColumn("x".repeat(1000) + "y".repeat(1000));
+        assertThat(stored[0]).isEqualTo(CompressedTextConverter.FORMAT_DEFLATE);
+
+        byte[] truncated = Arrays.copyOf(stored, stored.length - 2);
+
+        assertThatIllegalStateException().isThrownBy(() -> converter.convertToEntityAttribute(truncated));
+    }
+}
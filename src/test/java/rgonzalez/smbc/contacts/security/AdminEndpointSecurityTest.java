@@ -0,0 +1,101 @@
+package rgonzalez.smbc.contacts.security;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import rgonzalez.smbc.contacts.service.DeadLetterReplayService;
+import rgonzalez.smbc.contacts.service.TokenService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AdminEndpointSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @MockitoBean
+    private DeadLetterReplayService deadLetterReplayService;
+
+    @Test
+    void replayRequiresAuthentication() throws Exception {
+        mockMvc.perform(post("/api/v1/admin/ssn-verification/dlt/replay"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void replayRejectsUsersWithoutAdminRole() throws Exception {
+        mockMvc.perform(post("/api/v1/admin/ssn-verification/dlt/replay")
+                .header("Authorization", "Bearer " + tokenService.generateToken(1L, "user")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void replayAllowsAdmins() throws Exception {
+        mockMvc.perform(post("/api/v1/admin/ssn-verification/dlt/replay")
+                .header("Authorization", "Bearer " + tokenService.generateToken(1L, "admin")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void authorityCacheInvalidationRejectsUsersWithoutAdminRole() throws Exception {
+        String token = tokenService.generateToken(1L, "user");
+        mockMvc.perform(delete("/api/v1/admin/authorities/cache/user").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/api/v1/admin/authorities/cache").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void authorityCacheInvalidationAllowsAdmins() throws Exception {
+        String token = tokenService.generateToken(1L, "admin");
+        mockMvc.perform(delete("/api/v1/admin/authorities/cache/user").header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(delete("/api/v1/admin/authorities/cache").header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void prometheusScrapeRequiresAuthentication() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+    }
+
+    @TestConfiguration
+    static class Authorities {
+
+        @Bean
+        UserAuthorizationService userAuthorizationService() {
+            return new UserAuthorizationService() {
+                @Override
+                public List<GrantedAuthority> getAuthoritiesForUser(String userId) {
+                    return "admin".equals(userId) ? List.of(new SimpleGrantedAuthority("ROLE_ADMIN")) : List.of();
+                }
+
+                @Override
+                public List<GrantedAuthority> getAuthoritiesForUser(String networkId, String userId) {
+                    return getAuthoritiesForUser(userId);
+                }
+            };
+        }
+    }
+}
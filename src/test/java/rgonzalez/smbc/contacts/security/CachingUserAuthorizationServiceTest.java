@@ -0,0 +1,118 @@
+package rgonzalez.smbc.contacts.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+class CachingUserAuthorizationServiceTest {
+
+    private final Map<String, AtomicInteger> loads = new ConcurrentHashMap<>();
+    private final CountDownLatch slowLoadStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseSlowLoad = new CountDownLatch(1);
+    private final AtomicInteger invalidations = new AtomicInteger();
+    private CachingUserAuthorizationService service;
+
+    @AfterEach
+    void shutdown() {
+        releaseSlowLoad.countDown();
+        if (service != null) {
+            service.destroy();
+        }
+    }
+
+    @Test
+    void evictsTheCompletedEntriesLoadedTheLongestAgoDownToNinetyPercent() throws InterruptedException {
+        service = cachingService(10);
+
+        for (int user = 0; user <= 10; user++) {
+            service.getAuthoritiesForUser("u" + user);
+            Thread.sleep(2);
+        }
+        for (int user = 2; user <= 10; user++) {
+            service.getAuthoritiesForUser("u" + user);
+        }
+        service.getAuthoritiesForUser("u0");
+        service.getAuthoritiesForUser("u1");
+
+        assertThat(loads.get("u0")).hasValue(2);
+        assertThat(loads.get("u1")).hasValue(2);
+        for (int user = 2; user <= 10; user++) {
+            assertThat(loads.get("u" + user)).hasValue(1);
+        }
+    }
+
+    @Test
+    void loadsInProgressAreNotEvicted() {
+        service = cachingService(1);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            CompletableFuture<List<GrantedAuthority>> first = CompletableFuture
+                    .supplyAsync(() -> service.getAuthoritiesForUser("slow"));
+            assertThat(slowLoadStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // Overflows the cache while the slow load is in progress
+            service.getAuthoritiesForUser("other");
+            CompletableFuture<List<GrantedAuthority>> second = CompletableFuture
+                    .supplyAsync(() -> service.getAuthoritiesForUser("slow"));
+            Thread.sleep(50);
+            releaseSlowLoad.countDown();
+
+            assertThat(first.join()).isEqualTo(second.join());
+        });
+        assertThat(loads.get("slow")).hasValue(1);
+    }
+
+    @Test
+    void invalidateReloadsTheUserAndNotifies() {
+        service = cachingService(10);
+
+        service.getAuthoritiesForUser("a");
+        service.getAuthoritiesForUser("b");
+        service.invalidate("a");
+        service.getAuthoritiesForUser("a");
+        service.getAuthoritiesForUser("b");
+
+        assertThat(loads.get("a")).hasValue(2);
+        assertThat(loads.get("b")).hasValue(1);
+        assertThat(invalidations).hasValue(1);
+    }
+
+    private CachingUserAuthorizationService cachingService(int maxSize) {
+        UserAuthorizationService delegate = new UserAuthorizationService() {
+            @Override
+            public List<GrantedAuthority> getAuthoritiesForUser(String userId) {
+                loads.computeIfAbsent(userId, id -> new AtomicInteger()).incrementAndGet();
+                if (userId.equals("slow")) {
+                    slowLoadStarted.countDown();
+                    try {
+                        releaseSlowLoad.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return List.of(new SimpleGrantedAuthority("ROLE_" + userId));
+            }
+
+            @Override
+            public List<GrantedAuthority> getAuthoritiesForUser(String networkId, String userId) {
+                return getAuthoritiesForUser(userId);
+            }
+        };
+        return new CachingUserAuthorizationService(delegate, 300, 30, maxSize, 1,
+                invalidations::incrementAndGet, new SimpleMeterRegistry());
+    }
+}
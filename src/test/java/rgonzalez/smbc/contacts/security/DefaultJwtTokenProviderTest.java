@@ -0,0 +1,86 @@
+package rgonzalez.smbc.contacts.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+class DefaultJwtTokenProviderTest {
+
+    private static final String HEADER = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9";
+
+    private final HmacSha256Signer signer = new HmacSha256Signer("test-secret");
+    private final DefaultJwtTokenProvider provider = new DefaultJwtTokenProvider(signer, 30);
+
+    @Test
+    void readsTheClaimsOfASignedToken() {
+        long exp = now() + 60;
+        String token = signed("{\"sub\":\"42\",\"name\":\"jane\",\"exp\":" + exp + ",\"ctx\":{\"sub\":\"x\"}}");
+
+        assertThat(provider.validateToken(token)).isTrue();
+        assertThat(provider.getUserIdFromToken(token)).isEqualTo("42");
+        assertThat(provider.getUsernameFromToken(token)).isEqualTo("jane");
+        assertThat(provider.getExpirationFromToken(token)).isEqualTo(exp);
+    }
+
+    @Test
+    void returnsTheClaimsOfAValidToken() {
+        long exp = now() + 60;
+
+        assertThat(provider.parseAndValidate(signed("{\"sub\":\"42\",\"name\":\"jane\",\"exp\":" + exp + "}")))
+                .isEqualTo(new JwtClaims("42", "jane", exp, null));
+        assertThat(provider.parseAndValidate(signed("{\"sub\":\"42\",\"exp\":" + (now() - 60) + "}"))).isNull();
+        assertThat(provider.parseAndValidate("not-a-token")).isNull();
+    }
+
+    @Test
+    void rejectsATokenSignedWithAnotherKey() {
+        String token = signed(new HmacSha256Signer("other-secret"), "{\"sub\":\"42\"}");
+
+        assertThat(provider.validateToken(token)).isFalse();
+        assertThat(provider.parseAndValidate(token)).isNull();
+    }
+
+    @Test
+    void rejectsATokenWhosePayloadWasChanged() {
+        String token = signed("{\"sub\":\"42\"}");
+        String forged = HEADER + "." + encode("{\"sub\":\"1\"}") + token.substring(token.lastIndexOf('.'));
+
+        assertThat(provider.validateToken(token)).isTrue();
+        assertThat(provider.validateToken(forged)).isFalse();
+    }
+
+    @Test
+    void allowsClockSkewPastTheExpiration() {
+        assertThat(provider.validateToken(signed("{\"sub\":\"42\",\"exp\":" + (now() - 10) + "}"))).isTrue();
+        assertThat(provider.validateToken(signed("{\"sub\":\"42\",\"exp\":" + (now() - 60) + "}"))).isFalse();
+    }
+
+    @Test
+    void returnsNoClaimsForMalformedTokens() {
+        String malformed = HEADER + ".e30=A.signature";
+
+        assertThat(provider.validateToken(malformed)).isFalse();
+        assertThat(provider.getUserIdFromToken(malformed)).isNull();
+        assertThat(provider.getExpirationFromToken("not-a-token")).isNull();
+    }
+
+    private String signed(String json) {
+        return signed(signer, json);
+    }
+
+    private static String signed(HmacSha256Signer signer, String json) {
+        String signingInput = HEADER + "." + encode(json);
+        return signingInput + "." + signer.sign(signingInput);
+    }
+
+    private static String encode(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long now() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
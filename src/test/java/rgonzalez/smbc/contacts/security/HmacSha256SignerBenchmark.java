@@ -0,0 +1,56 @@
+package rgonzalez.smbc.contacts.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Verification cost per request: the HS256 signature check of
+ * {@link HmacSha256Signer} alone and the full validation of
+ * {@link DefaultJwtTokenProvider} (parse, signature and expiration).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HmacSha256SignerBenchmark {
+
+    private final HmacSha256Signer signer = new HmacSha256Signer("benchmark-secret");
+    private final DefaultJwtTokenProvider provider = new DefaultJwtTokenProvider(signer, 30);
+    private String token;
+
+    @Setup
+    public void setUp() {
+        String signingInput = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9."
+                + Base64.getUrlEncoder().withoutPadding().encodeToString(
+                        "{\"sub\":\"42\",\"name\":\"jdoe\",\"iat\":1700000000,\"exp\":4102444800}"
+                                .getBytes(StandardCharsets.UTF_8));
+        token = signingInput + "." + signer.sign(signingInput);
+        if (!provider.validateToken(token)) {
+            throw new IllegalStateException("Benchmark token does not validate");
+        }
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return signer.verify(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return provider.validateToken(token);
+    }
+}
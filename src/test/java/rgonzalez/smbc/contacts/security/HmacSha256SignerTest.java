@@ -0,0 +1,72 @@
+package rgonzalez.smbc.contacts.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.Test;
+
+class HmacSha256SignerTest {
+
+    private static final String SECRET = "test-secret";
+    private static final String SIGNING_INPUT = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.eyJzdWIiOiI0MiJ9";
+
+    private final HmacSha256Signer signer = new HmacSha256Signer(SECRET);
+
+    @Test
+    void signsWithHmacSha256AsBase64UrlWithoutPadding() throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        String expected = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(mac.doFinal(SIGNING_INPUT.getBytes(StandardCharsets.US_ASCII)));
+
+        assertThat(signer.sign(SIGNING_INPUT)).isEqualTo(expected);
+        byte[] input = SIGNING_INPUT.getBytes(StandardCharsets.US_ASCII);
+        assertThat(Base64.getUrlEncoder().withoutPadding().encodeToString(signer.sign(input, input.length)))
+                .isEqualTo(expected);
+    }
+
+    @Test
+    void signsOnlyTheGivenLengthOfTheBuffer() {
+        byte[] buffer = (SIGNING_INPUT + ".trailing").getBytes(StandardCharsets.US_ASCII);
+
+        assertThat(signer.sign(buffer, SIGNING_INPUT.length()))
+                .isEqualTo(signer.sign(SIGNING_INPUT.getBytes(StandardCharsets.US_ASCII), SIGNING_INPUT.length()));
+    }
+
+    @Test
+    void verifiesItsOwnSignatures() {
+        assertThat(signer.verify(SIGNING_INPUT + "." + signer.sign(SIGNING_INPUT))).isTrue();
+    }
+
+    @Test
+    void rejectsSignaturesOfOtherInputsOrKeys() {
+        String signature = signer.sign(SIGNING_INPUT);
+        String otherKey = new HmacSha256Signer("other-secret").sign(SIGNING_INPUT);
+
+        assertThat(signer.verify(SIGNING_INPUT + "x." + signature)).isFalse();
+        assertThat(signer.verify(SIGNING_INPUT + "." + otherKey)).isFalse();
+        assertThat(signer.verify(SIGNING_INPUT + "." + signature.substring(1))).isFalse();
+        assertThat(signer.verify(SIGNING_INPUT + "." + signature + "A")).isFalse();
+        assertThat(signer.verify(SIGNING_INPUT + "é." + signature)).isFalse();
+        assertThat(signer.verify("no-dot")).isFalse();
+        assertThat(signer.verify("." + signature)).isFalse();
+    }
+
+    @Test
+    void signsLongInputsAndFromSeveralThreads() {
+        String longInput = SIGNING_INPUT + "x".repeat(5000);
+        String expected = signer.sign(longInput);
+
+        String fromOtherThread = CompletableFuture.supplyAsync(() -> signer.sign(longInput)).join();
+
+        assertThat(fromOtherThread).isEqualTo(expected);
+        assertThat(signer.verify(longInput + "." + expected)).isTrue();
+        assertThat(signer.sign(SIGNING_INPUT)).isEqualTo(new HmacSha256Signer(SECRET).sign(SIGNING_INPUT));
+    }
+}
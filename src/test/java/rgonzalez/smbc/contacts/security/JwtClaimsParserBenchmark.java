@@ -0,0 +1,55 @@
+package rgonzalez.smbc.contacts.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Claim extraction of {@link JwtClaimsParser} against the split, decode and
+ * per-claim regex extraction it replaced. Run with -Dbenchmark.args="-prof gc"
+ * for the bytes allocated per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtClaimsParserBenchmark {
+
+    private final String token = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9."
+            + Base64.getUrlEncoder().withoutPadding().encodeToString(
+                    "{\"sub\":\"jdoe\",\"networkId\":12345,\"iat\":1700000000,\"exp\":1700086400}"
+                            .getBytes(StandardCharsets.UTF_8))
+            + ".c2lnbmF0dXJl";
+
+    @Benchmark
+    public JwtClaims singlePass() {
+        return JwtClaimsParser.parse(token);
+    }
+
+    @Benchmark
+    public JwtClaims splitAndRegex() {
+        String payload = new String(Base64.getUrlDecoder().decode(token.split("\\.")[1]), StandardCharsets.UTF_8);
+        String exp = claim(payload, "exp");
+        return new JwtClaims(claim(payload, "sub"), claim(payload, "name"), exp == null ? null : Long.valueOf(exp),
+                claim(payload, "networkId"));
+    }
+
+    private static String claim(String payload, String name) {
+        Matcher matcher = Pattern.compile("\"" + name + "\"\\s*:\\s*\"?([^\",}]+)\"?").matcher(payload);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+}
@@ -0,0 +1,108 @@
+package rgonzalez.smbc.contacts.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class JwtClaimsParserTest {
+
+    private static final String HEADER = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9";
+
+    @ParameterizedTest
+    @ValueSource(strings = { "", "x", "xy" })
+    void readsUnpaddedPayloadsOfEveryLength(String padding) {
+        // The name shifts the payload length through every remainder of 3
+        String json = "{\"sub\":\"42\",\"name\":\"jane" + padding + "\",\"exp\":1700000000,\"networkId\":7}";
+
+        JwtClaims claims = JwtClaimsParser.parse(token(unpadded(json)));
+
+        assertThat(claims).isEqualTo(new JwtClaims("42", "jane" + padding, 1700000000L, "7"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "x", "xyz" })
+    void readsPaddedPayloads(String subject) {
+        // One and two padding characters
+        String json = "{\"sub\":\"" + subject + "\"}";
+        String payload = Base64.getUrlEncoder().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+        assertThat(payload).endsWith("=");
+
+        assertThat(JwtClaimsParser.parse(token(payload)).subject()).isEqualTo(subject);
+    }
+
+    @Test
+    void readsPayloadsLargerThanTheInitialBuffer() {
+        String name = "n".repeat(2000);
+
+        assertThat(JwtClaimsParser.parse(token(unpadded("{\"name\":\"" + name + "\"}"))).name()).isEqualTo(name);
+        assertThat(JwtClaimsParser.parse(token(unpadded("{\"sub\":\"1\"}"))).name()).isNull();
+    }
+
+    @Test
+    void skipsNestedClaims() {
+        String json = "{\"ctx\":{\"sub\":\"nested\",\"exp\":1},\"roles\":[\"a\",{\"sub\":\"b\"}],"
+                + "\"sub\":\"1\",\"name\":{\"first\":\"jane\"},\"networkId\":[7]}";
+
+        JwtClaims claims = JwtClaimsParser.parse(token(unpadded(json)));
+
+        assertThat(claims).isEqualTo(new JwtClaims("1", null, null, null));
+    }
+
+    @Test
+    void readsNullClaimsAsAbsent() {
+        JwtClaims claims = JwtClaimsParser.parse(token(unpadded("{\"sub\":null,\"exp\":null}")));
+
+        assertThat(claims).isEqualTo(new JwtClaims(null, null, null, null));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "eyJzdWIiOiIxIn0+", "eyJzdWIiOiIxIn0/", "eyJzdWIi*iIxIn0", "eyJzdWIiOiIxIn0é" })
+    void rejectsCharactersOutsideTheBase64UrlAlphabet(String payload) {
+        assertThatIllegalArgumentException().isThrownBy(() -> JwtClaimsParser.parse(token(payload)))
+                .withMessageContaining("base64url");
+    }
+
+    @Test
+    void rejectsPayloadLengthsNoBase64TextCanHave() {
+        String payload = unpadded("{\"sub\":\"12\"}") + "A";
+        assertThat(payload.length() % 4).isEqualTo(1);
+
+        assertThatIllegalArgumentException().isThrownBy(() -> JwtClaimsParser.parse(token(payload)))
+                .withMessageContaining("length");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "[1,2]", "\"sub\"", "42", "null" })
+    void rejectsPayloadsThatAreNotJsonObjects(String json) {
+        assertThatIllegalArgumentException().isThrownBy(() -> JwtClaimsParser.parse(token(unpadded(json))))
+                .withMessageContaining("not a JSON object");
+    }
+
+    @Test
+    void rejectsPayloadsThatAreNotValidJson() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> JwtClaimsParser.parse(token(unpadded("{\"sub\":\"1\""))))
+                .withMessageContaining("not valid JSON");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "", "abc", "a.b", ".b.c", "a.b.c.d" })
+    void rejectsTokensNotMadeOfThreeSegments(String token) {
+        assertThatIllegalArgumentException().isThrownBy(() -> JwtClaimsParser.parse(token))
+                .withMessageContaining("three segments");
+    }
+
+    private static String unpadded(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String token(String payload) {
+        return HEADER + "." + payload + ".signature";
+    }
+}
@@ -0,0 +1,45 @@
+package rgonzalez.smbc.contacts.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+class TokenAuthenticationCacheTest {
+
+    private static final List<GrantedAuthority> AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
+    private final TokenAuthenticationCache cache = new TokenAuthenticationCache(true, 10, 300,
+            new SimpleMeterRegistry());
+
+    @Test
+    void cachesAuthenticationResolvedInTheCurrentGeneration() {
+        cache.put("token", "1", AUTHORITIES, null, cache.generation());
+
+        assertThat(cache.get("token")).isNotNull();
+        assertThat(cache.get("token").authorities()).isEqualTo(AUTHORITIES);
+    }
+
+    @Test
+    void doesNotCacheAuthenticationResolvedBeforeAClear() {
+        long generation = cache.generation();
+        cache.clear();
+
+        cache.put("token", "1", AUTHORITIES, null, generation);
+
+        assertThat(cache.get("token")).isNull();
+    }
+
+    @Test
+    void expiresAtTheTokenExpiration() {
+        long expired = System.currentTimeMillis() / 1000 - 1;
+
+        cache.put("token", "1", AUTHORITIES, expired, cache.generation());
+
+        assertThat(cache.get("token")).isNull();
+    }
+}
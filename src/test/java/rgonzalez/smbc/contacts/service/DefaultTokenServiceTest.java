@@ -0,0 +1,79 @@
+package rgonzalez.smbc.contacts.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import rgonzalez.smbc.contacts.model.dto.TokenRequest;
+import rgonzalez.smbc.contacts.security.DefaultJwtTokenProvider;
+import rgonzalez.smbc.contacts.security.HmacSha256Signer;
+import rgonzalez.smbc.contacts.security.JwtClaimsParser;
+
+class DefaultTokenServiceTest {
+
+    private final HmacSha256Signer signer = new HmacSha256Signer("test-secret");
+    private final DefaultTokenService tokenService = new DefaultTokenService(signer);
+    private final DefaultJwtTokenProvider tokenProvider = new DefaultJwtTokenProvider(signer, 0);
+
+    @BeforeEach
+    void expiration() {
+        ReflectionTestUtils.setField(tokenService, "jwtExpirationMs", 3_600_000L);
+    }
+
+    @Test
+    void mintsTokensTheProviderAccepts() {
+        String token = tokenService.generateToken(7L, "jdoe");
+
+        assertThat(tokenProvider.validateToken(token)).isTrue();
+        assertThat(tokenProvider.getUserIdFromToken(token)).isEqualTo("jdoe");
+        assertThat(JwtClaimsParser.parse(token).networkId()).isEqualTo("7");
+        assertThat(tokenProvider.getExpirationFromToken(token))
+                .isCloseTo(System.currentTimeMillis() / 1000 + 3600, within(5L));
+    }
+
+    @Test
+    void writesAStandardHs256Header() {
+        String token = tokenService.generateToken(7L);
+        String header = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))),
+                StandardCharsets.UTF_8);
+
+        assertThat(header).isEqualTo("{\"alg\":\"HS256\",\"typ\":\"JWT\"}");
+        assertThat(token).doesNotContain("=");
+        assertThat(tokenProvider.getUserIdFromToken(token)).isEqualTo("user-7");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "j\"doe\\", "tab\tnewline\n", "Zoë", "日本", "emoji😀", "a", "ab", "abc" })
+    void escapesAndEncodesAnyUserId(String userId) {
+        String token = tokenService.generateToken(1L, userId);
+
+        assertThat(tokenProvider.validateToken(token)).isTrue();
+        assertThat(tokenProvider.getUserIdFromToken(token)).isEqualTo(userId);
+    }
+
+    @Test
+    void growsItsBuffersForLongUserIds() {
+        String userId = "u".repeat(2000);
+
+        assertThat(tokenProvider.getUserIdFromToken(tokenService.generateToken(1L, userId))).isEqualTo(userId);
+        assertThat(tokenProvider.getUserIdFromToken(tokenService.generateToken(1L, "short"))).isEqualTo("short");
+    }
+
+    @Test
+    void mintsABatchWithDefaultUserIds() {
+        List<String> tokens = tokenService.generateTokens(
+                List.of(new TokenRequest(1L, "jdoe"), new TokenRequest(2L, " "), new TokenRequest(3L)));
+
+        assertThat(tokens).allSatisfy(token -> assertThat(tokenProvider.validateToken(token)).isTrue());
+        assertThat(tokens).extracting(tokenProvider::getUserIdFromToken).containsExactly("jdoe", "user-2", "user-3");
+    }
+}
@@ -0,0 +1,2 @@
+CREATE SCHEMA IF NOT EXISTS CONTACTS;
+CREATE ALIAS IF NOT EXISTS SYSDATETIME AS 'java.time.LocalDateTime now() { return java.time.LocalDateTime.now(); }';